@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка пересечения с подтверждёнными бронированиями:
+ * запрос exists в базу против интервального индекса в памяти.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingConflictBenchmark {
+
+    @Param({"10", "1000"})
+    private int bookingsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private BookingIntervalIndex intervalIndex;
+    private Long itemId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("conflicts_" + bookingsPerItem);
+        bookingRepository = context.getBean(BookingRepository.class);
+        intervalIndex = context.getBean(BookingIntervalIndex.class);
+
+        DataSeeder seeder = new DataSeeder(context);
+        User owner = seeder.seedUser("owner");
+        User booker = seeder.seedUser("booker");
+        List<Item> items = seeder.seedItems(owner, 1);
+        seeder.seedBookings(items, booker, bookingsPerItem, BookingStatus.APPROVED);
+        itemId = items.get(0).getId();
+
+        // Окно между соседними бронированиями: конфликта нет, проверяются все кандидаты
+        start = LocalDateTime.now().plusDays(1).plusHours(1);
+        end = start.plusHours(12);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean sqlExists() {
+        return bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                itemId, BookingStatus.APPROVED, end, start);
+    }
+
+    @Benchmark
+    public boolean intervalIndex() {
+        return intervalIndex.hasConflict(itemId, start, end);
+    }
+}
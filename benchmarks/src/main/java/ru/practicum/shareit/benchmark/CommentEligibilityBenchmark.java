@@ -0,0 +1,110 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка права на отзыв (завершённое подтверждённое бронирование) на большой таблице bookings.
+ * Данные генерируются одним INSERT ... SELECT на стороне H2: через JPA миллионы строк сеялись бы часами.
+ * Попадания и промахи измеряются отдельно: бронирования покрывают лишь первые вещи,
+ * поэтому случайная пара почти всегда оказывалась бы промахом.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CommentEligibilityBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int ITEMS = 10_000;
+    private static final int SAMPLES = 1024;
+
+    @Param({"100000", "10000000"})
+    private int bookings;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private long[][] eligible;
+    // Бронирования получают только вещи 1..seededItems, остальные годятся для промахов
+    private long seededItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("eligibility_" + bookings);
+        bookingRepository = context.getBean(BookingRepository.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO users (id, name, email) " +
+                "SELECT X, CONCAT('user', X), CONCAT('user', X, '@example.com') FROM SYSTEM_RANGE(1, ?)", USERS);
+        jdbc.update("INSERT INTO items (id, name, description, available, owner_id) " +
+                "SELECT X, CONCAT('Вещь ', X), 'Описание', TRUE, 1 FROM SYSTEM_RANGE(1, ?)", ITEMS);
+        // Окончания разбросаны на полгода в прошлое и будущее, пятая часть отклонена, пятая ждёт решения
+        jdbc.update("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT X, DATEADD('HOUR', 4356 - MOD(X, 8760), LOCALTIMESTAMP), " +
+                "DATEADD('HOUR', 4380 - MOD(X, 8760), LOCALTIMESTAMP), " +
+                "MOD(X / " + USERS + ", " + ITEMS + ") + 1, MOD(X, " + USERS + ") + 1, " +
+                "CASE MOD(X, 5) WHEN 0 THEN 'REJECTED' WHEN 1 THEN 'WAITING' ELSE 'APPROVED' END " +
+                "FROM SYSTEM_RANGE(1, ?)", bookings);
+        seededItems = Math.min(ITEMS, bookings / USERS + 1);
+        eligible = sampleEligible(bookings);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Попадание: пара (бронирующий, вещь) с завершённым подтверждённым бронированием
+    @Benchmark
+    public boolean canCommentHit() {
+        long[] pair = eligible[ThreadLocalRandom.current().nextInt(SAMPLES)];
+        return bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                pair[0], pair[1], BookingStatus.APPROVED, LocalDateTime.now());
+    }
+
+    // Промах: вещь без бронирований, индекс отвечает пустым диапазоном
+    @Benchmark
+    public boolean canCommentMiss() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                random.nextLong(1, USERS + 1), random.nextLong(seededItems + 1, ITEMS + 1),
+                BookingStatus.APPROVED, LocalDateTime.now());
+    }
+
+    // Те же формулы, что в INSERT ... SELECT: строка X подходит, если подтверждена и уже закончилась
+    private static long[][] sampleEligible(int bookings) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[][] pairs = new long[SAMPLES][];
+        int found = 0;
+        while (found < SAMPLES) {
+            long x = random.nextLong(1, bookings + 1L);
+            boolean approved = x % 5 >= 2;
+            boolean ended = 4380 - x % 8760 < 0;
+            if (approved && ended) {
+                pairs[found++] = new long[]{x % USERS + 1, x / USERS % ITEMS + 1};
+            }
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.context.ApplicationContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Заполняет базу одним владельцем с заданным числом вещей, бронирований и отзывов.
+ * Половина бронирований каждой вещи лежит в прошлом, половина — в будущем,
+ * чтобы расчёт last/next проходил по обеим веткам.
+ */
+final class DataSeeder {
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+
+    DataSeeder(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.itemRepository = context.getBean(ItemRepository.class);
+        this.bookingRepository = context.getBean(BookingRepository.class);
+        this.commentRepository = context.getBean(CommentRepository.class);
+    }
+
+    User seedUser(String name) {
+        return userRepository.save(User.builder().name(name).email(name + "@example.com").build());
+    }
+
+    List<Item> seedItems(User owner, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(Item.builder()
+                    .name("Вещь " + i)
+                    .description("Описание вещи " + i)
+                    .available(true)
+                    .ownerId(owner.getId())
+                    .build());
+        }
+        return itemRepository.saveAll(items);
+    }
+
+    List<Booking> seedBookings(List<Item> items, User booker, int perItem, BookingStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>(items.size() * perItem);
+        for (Item item : items) {
+            for (int i = 0; i < perItem; i++) {
+                LocalDateTime start = now.plusDays(2L * (i - perItem / 2));
+                bookings.add(Booking.builder()
+                        .start(start)
+                        .end(start.plusDays(1))
+                        .item(item)
+                        .booker(booker)
+                        .status(status)
+                        .build());
+            }
+        }
+        return bookingRepository.saveAll(bookings);
+    }
+
+    void seedComments(List<Item> items, User author, int perItem) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Comment> comments = new ArrayList<>(items.size() * perItem);
+        for (Item item : items) {
+            for (int i = 0; i < perItem; i++) {
+                Comment comment = new Comment();
+                comment.setText("Отзыв " + i);
+                comment.setItem(item);
+                comment.setAuthor(author);
+                comment.setCreated(now.minusHours(i));
+                comments.add(comment);
+            }
+        }
+        commentRepository.saveAll(comments);
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ответ сервера на пути через gateway: прежний BaseClient разбирал тело в Object
+ * и сериализовал его заново, нынешний отдаёт байты как есть.
+ * Классы gateway не могут лежать на одном classpath с сервером (совпадают имена контроллеров и DTO),
+ * поэтому оба режима воспроизводят вызов rest.exchange из BaseClient и запись тела в ответ gateway.
+ * Сервер заменён локальным HttpServer с готовым JSON списка бронирований.
+ * Выделение памяти на запрос: запуск с -prof gc (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayRelayBenchmark {
+
+    @Param({"10", "1000"})
+    private int bookings;
+
+    private HttpServer server;
+    private RestTemplate rest;
+    private ObjectMapper objectMapper;
+    private URI uri;
+    private HttpEntity<Void> request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        byte[] body = objectMapper.writeValueAsBytes(bookingList(bookings));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/bookings", exchange -> {
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        rest = new RestTemplate();
+        uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/bookings");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", "1");
+        request = new HttpEntity<>(headers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    // Нынешний BaseClient: байты ответа сервера уходят клиенту без разбора
+    @Benchmark
+    public byte[] relayBytes() {
+        return rest.exchange(uri, HttpMethod.GET, request, byte[].class).getBody();
+    }
+
+    // Прежний BaseClient: Jackson строит дерево LinkedHashMap/ArrayList, Spring MVC сериализует его обратно
+    @Benchmark
+    public byte[] deserializeAndReserialize() throws JsonProcessingException {
+        Object body = rest.exchange(uri, HttpMethod.GET, request, Object.class).getBody();
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    private static List<BookingResponseDto> bookingList(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        UserDto booker = UserDto.builder().id(2L).name("booker").email("booker@example.com").build();
+        List<BookingResponseDto> list = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            ItemDto item = ItemDto.builder()
+                    .id(i)
+                    .name("Вещь " + i)
+                    .description("Описание вещи " + i)
+                    .available(true)
+                    .build();
+            list.add(BookingResponseDto.builder()
+                    .id(i)
+                    .start(now.plusDays(1))
+                    .end(now.plusDays(2))
+                    .status(BookingStatus.APPROVED)
+                    .item(item)
+                    .booker(booker)
+                    .build());
+        }
+        return list;
+    }
+}
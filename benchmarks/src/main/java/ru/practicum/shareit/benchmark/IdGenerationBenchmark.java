@@ -0,0 +1,147 @@
+package ru.practicum.shareit.benchmark;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Вставка бронирований и отзывов при IDENTITY и при SEQUENCE с pooled-оптимизатором (allocationSize = 50).
+ * Обе стратегии пишут в те же таблицы bookings и comments, что и сервер: у столбцов id остался
+ * GENERATED BY DEFAULT AS IDENTITY, а последовательности создаёт V5. Отображение задаётся
+ * в benchmark/{identity,sequence}-orm.xml, чтобы классы не попадали в сканирование сущностей сервера.
+ * Настройки пакетов те же, что в application.properties: при IDENTITY Hibernate всё равно
+ * выполняет каждый INSERT сразу, чтобы получить id, и JDBC-пакеты не собираются.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    @Param({"IDENTITY", "SEQUENCE"})
+    private String idGeneration;
+
+    @Param({"500"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private SessionFactory sessionFactory;
+    private Long itemId;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("id_generation_" + idGeneration.toLowerCase(Locale.ROOT));
+        DataSeeder seeder = new DataSeeder(context);
+        User user = seeder.seedUser("booker");
+        Item item = seeder.seedItems(user, 1).get(0);
+        userId = user.getId();
+        itemId = item.getId();
+
+        Configuration configuration = new Configuration()
+                .addResource("benchmark/" + idGeneration.toLowerCase(Locale.ROOT) + "-orm.xml")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true");
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, context.getBean(DataSource.class));
+        sessionFactory = configuration.buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        context.close();
+    }
+
+    @Benchmark
+    public void insertBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        inTransaction(session -> {
+            for (int i = 0; i < rows; i++) {
+                session.persist(new BookingRow(start.plusHours(i), start.plusHours(i + 1), itemId, userId));
+            }
+        });
+    }
+
+    @Benchmark
+    public void insertComments() {
+        LocalDateTime now = LocalDateTime.now();
+        inTransaction(session -> {
+            for (int i = 0; i < rows; i++) {
+                session.persist(new CommentRow("Отзыв " + i, itemId, userId, now));
+            }
+        });
+    }
+
+    private void inTransaction(Consumer<Session> work) {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            work.accept(session);
+            transaction.commit();
+        }
+    }
+
+    // Только столбцы, нужные для вставки; отображение — в benchmark/*-orm.xml
+    static class BookingRow {
+        private Long id;
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private Long itemId;
+        private Long bookerId;
+        private String status;
+
+        BookingRow() {
+        }
+
+        BookingRow(LocalDateTime start, LocalDateTime end, Long itemId, Long bookerId) {
+            this.start = start;
+            this.end = end;
+            this.itemId = itemId;
+            this.bookerId = bookerId;
+            this.status = "WAITING";
+        }
+    }
+
+    static class CommentRow {
+        private Long id;
+        private String text;
+        private Long itemId;
+        private Long authorId;
+        private LocalDateTime created;
+
+        CommentRow() {
+        }
+
+        CommentRow(String text, Long itemId, Long authorId, LocalDateTime created) {
+            this.text = text;
+            this.itemId = itemId;
+            this.authorId = authorId;
+            this.created = created;
+        }
+    }
+}
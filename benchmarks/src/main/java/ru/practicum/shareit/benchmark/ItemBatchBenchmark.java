@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Создание пачки вещей: пакетная вставка через createItems
+ * против последовательных вызовов createItem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemBatchBenchmark {
+
+    @Param({"50", "500"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private Long ownerId;
+    private List<ItemDto> itemDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("batch_" + batchSize);
+        itemService = context.getBean(ItemService.class);
+        ownerId = new DataSeeder(context).seedUser("owner").getId();
+
+        itemDtos = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            itemDtos.add(ItemDto.builder()
+                    .name("Вещь " + i)
+                    .description("Описание вещи " + i)
+                    .available(true)
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BatchResult<ItemDto>> createItems() {
+        return itemService.createItems(itemDtos, ownerId);
+    }
+
+    @Benchmark
+    public void createItemOneByOne(Blackhole blackhole) {
+        for (ItemDto itemDto : itemDtos) {
+            blackhole.consume(itemService.createItem(itemDto, ownerId));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Список вещей владельца: загрузка, группировка бронирований по вещам,
+ * расчёт last/next; отзывы в списке представлены только сводкой из строки вещи.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    @Param({"10"})
+    private int bookingsPerItem;
+
+    @Param({"5"})
+    private int commentsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private Long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("items_" + items + "_" + bookingsPerItem + "_" + commentsPerItem);
+        itemService = context.getBean(ItemService.class);
+
+        DataSeeder seeder = new DataSeeder(context);
+        User owner = seeder.seedUser("owner");
+        User booker = seeder.seedUser("booker");
+        List<Item> seeded = seeder.seedItems(owner, items);
+        seeder.seedBookings(seeded, booker, bookingsPerItem, BookingStatus.APPROVED);
+        seeder.seedComments(seeded, booker, commentsPerItem);
+        ownerId = owner.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> getItemsByOwner() {
+        return itemService.getItemsByOwner(ownerId);
+    }
+}
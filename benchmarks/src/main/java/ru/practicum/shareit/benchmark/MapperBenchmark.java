@@ -0,0 +1,84 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг сущностей в DTO без обращения к базе.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final BookingMapper bookingMapper = new BookingMapper();
+    private final ItemMapper itemMapper = new ItemMapper();
+    private final CommentMapper commentMapper = new CommentMapper();
+
+    private Item item;
+    private User booker;
+    private Booking booking;
+    private Comment comment;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        booker = User.builder().id(2L).name("booker").email("booker@example.com").build();
+        item = Item.builder()
+                .id(1L)
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .ownerId(1L)
+                .build();
+        booking = Booking.builder()
+                .id(1L)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+        comment = new Comment(1L, "Отличная дрель", item, booker, now);
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingToResponseDto() {
+        return bookingMapper.toResponseDto(booking, item, booker);
+    }
+
+    @Benchmark
+    public ItemDto itemToItemDto() {
+        return itemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public CommentDto commentToResponse() {
+        return commentMapper.mapCommentToResponse(comment);
+    }
+}
@@ -4,13 +4,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -23,29 +24,30 @@ public class BookingClient extends BaseClient {
     @Autowired
     public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
         super(
-                builder
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build(),
+                builder.build(),
                 serverUrl + "/bookings"
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("", userId, parameters); // путь без query
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                              String cursor) {
+        return get("", userId, listingParameters(state, from, size, cursor)); // путь без query
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner", userId, parameters);
+    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, Integer from, Integer size,
+                                                   String cursor) {
+        return get("/owner", userId, listingParameters(state, from, size, cursor));
+    }
+
+    // cursor необязателен: null-параметры в запрос не попадают
+    private static Map<String, Object> listingParameters(BookingState state, Integer from, Integer size,
+                                                         String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        parameters.put("cursor", cursor);
+        return parameters;
     }
 
     public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
@@ -60,4 +62,9 @@ public class BookingClient extends BaseClient {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId, userId, parameters, null);
     }
+
+    public ResponseEntity<Object> updateBookings(long userId, List<Long> bookingIds, Boolean approved) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("/batch", userId, parameters, bookingIds);
+    }
 }
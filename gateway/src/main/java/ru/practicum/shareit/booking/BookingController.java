@@ -6,42 +6,52 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exception.UnknownStateException;
 
+import java.util.List;
+
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
 public class BookingController {
+    static final int MAX_BATCH_SIZE = 100;
+
     private final BookingClient bookingClient;
 
     @GetMapping
     public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new UnknownStateException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", state, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", state, userId, from, size, cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
                                                    @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                   @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new UnknownStateException("Unknown state: " + stateParam));
-        log.info("Get owner bookings with state {}, userId={}, from={}, size={}", state, userId, from, size);
-        return bookingClient.getOwnerBookings(userId, state, from, size);
+        log.info("Get owner bookings with state {}, userId={}, from={}, size={}, cursor={}",
+                state, userId, from, size, cursor);
+        return bookingClient.getOwnerBookings(userId, state, from, size, cursor);
     }
 
     @PostMapping
@@ -58,6 +68,15 @@ public class BookingController {
         return bookingClient.getBooking(userId, bookingId);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> updateBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestParam(name = "approved") Boolean approved,
+                                                 @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                 List<@NotNull @Positive Long> bookingIds) {
+        log.info("Update bookings {}, approved={}, userId={}", bookingIds, approved, userId);
+        return bookingClient.updateBookings(userId, bookingIds, approved);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> updateBooking(@RequestHeader("X-Sharer-User-Id") long userId,
                                                 @PathVariable Long bookingId,
@@ -1,12 +1,16 @@
 package ru.practicum.shareit.client;
 
 import java.net.URI;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
@@ -15,8 +19,19 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 public class BaseClient {
+    static final List<String> RELAYED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.ETAG,
+            "X-Next-Cursor"
+    );
+
+    // записей на один клиент; тела ответов хранятся целиком
+    static final int RESPONSE_CACHE_SIZE = 1_000;
+
     protected final RestTemplate rest;
     private final String serverUrl;
+    private final ConditionalResponseCache responseCache = new ConditionalResponseCache(RESPONSE_CACHE_SIZE);
+    private final SingleFlight<ResponseEntity<Object>> singleFlight = new SingleFlight<>(getClass().getSimpleName());
 
     // Конструктор с serverUrl
     public BaseClient(RestTemplate rest, String serverUrl) {
@@ -84,6 +99,14 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    // ids=1,2,3 без повторов: одинаковые пакеты дают одинаковый URI для кеша и склейки запросов
+    protected static String joinIds(Collection<Long> ids) {
+        return ids.stream()
+                .distinct()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(
             HttpMethod method,
             String path,
@@ -104,19 +127,62 @@ public class BaseClient {
 
         URI uri = builder.build().encode().toUri(); // ✅ Полный URI
 
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        if (method == HttpMethod.GET) {
+            // одинаковые одновременные GET (URI и пользователь) уходят на сервер одним запросом
+            String key = ConditionalResponseCache.key(uri.toString(), userId);
+            return singleFlight.execute(key, () -> exchange(method, uri, userId, body, key));
+        }
+        return exchange(method, uri, userId, body, null);
+    }
+
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, URI uri, Long userId, @Nullable T body,
+                                                @Nullable String cacheKey) {
+        HttpHeaders headers = defaultHeaders(userId);
+        ConditionalResponseCache.Entry cached = null;
+        if (cacheKey != null) {
+            cached = responseCache.get(cacheKey);
+            if (cached != null) {
+                headers.setIfNoneMatch(cached.eTag());
+            }
+        }
+
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
-            // ❌ Было: rest.exchange(url, method, requestEntity, Object.class, parameters);
-            // ✅ Стало: НЕ передаём parameters второй раз!
-            shareitServerResponse = rest.exchange(uri, method, requestEntity, Object.class);
+            // Тело не разбирается в Object: байты ответа сервера отдаются клиенту как есть
+            shareitServerResponse = rest.exchange(uri, method, requestEntity, byte[].class);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            if (cacheKey != null) {
+                responseCache.remove(cacheKey);
+            }
+            return relay(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+
+        if (cacheKey != null) {
+            return revalidated(cacheKey, cached, shareitServerResponse);
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    // 304 от сервера: тело берётся из кеша; 200 с ETag: ответ запоминается для следующей ревалидации
+    private ResponseEntity<Object> revalidated(String cacheKey,
+                                               @Nullable ConditionalResponseCache.Entry cached,
+                                               ResponseEntity<byte[]> response) {
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && cached != null) {
+            return relay(HttpStatus.OK, cached.headers(), cached.body());
+        }
+
+        String eTag = response.getHeaders().getETag();
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.OK) && eTag != null && response.getBody() != null) {
+            responseCache.put(cacheKey,
+                    new ConditionalResponseCache.Entry(eTag, response.getHeaders(), response.getBody()));
+        } else {
+            responseCache.remove(cacheKey);
+        }
+        return prepareGatewayResponse(response);
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -127,15 +193,28 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        return relay(response.getStatusCode(), response.getHeaders(), response.getBody());
+    }
+
+    // Из заголовков сервера пробрасываются только относящиеся к телу и пагинации;
+    // Content-Length, Transfer-Encoding и т.п. gateway выставляет сам
+    private static ResponseEntity<Object> relay(HttpStatusCode status, @Nullable HttpHeaders serverHeaders,
+                                                @Nullable byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            RELAYED_HEADERS.forEach(name -> {
+                List<String> values = serverHeaders.get(name);
+                if (values != null) {
+                    headers.put(name, values);
+                }
+            });
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(headers);
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
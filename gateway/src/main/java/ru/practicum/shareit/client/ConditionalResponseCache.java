@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ограниченный LRU-кеш GET-ответов сервера с ETag.
+ * Запись не считается актуальной сама по себе: перед выдачей она ревалидируется
+ * запросом с If-None-Match, поэтому инвалидация при изменениях не нужна.
+ */
+class ConditionalResponseCache {
+
+    record Entry(String eTag, HttpHeaders headers, byte[] body) {
+    }
+
+    private final Map<String, Entry> entries;
+
+    ConditionalResponseCache(int maxEntries) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    // ответ зависит от пользователя, поэтому он входит в ключ
+    static String key(String uri, @Nullable Long userId) {
+        return userId == null ? uri : uri + "#" + userId;
+    }
+
+    @Nullable
+    Entry get(String key) {
+        return entries.get(key);
+    }
+
+    void put(String key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    void remove(String key) {
+        entries.remove(key);
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки пула HTTP-соединений между gateway и сервером.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+
+    // всего соединений в пуле
+    private int maxTotal = 200;
+
+    // на один маршрут; gateway ходит только на сервер, поэтому почти весь пул
+    private int maxPerRoute = 200;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    // сколько ждать свободного соединения из пула
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    // сколько держать соединение открытым, если сервер не прислал Keep-Alive
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    // простаивающие дольше соединения закрываются фоновым потоком
+    private Duration idleEvictAfter = Duration.ofSeconds(30);
+
+    // перед выдачей из пула проверяется соединение, простаивавшее дольше
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
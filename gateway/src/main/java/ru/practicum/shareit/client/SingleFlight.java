@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Склеивает одинаковые одновременные запросы: пока первый ждёт ответа сервера,
+ * остальные с тем же ключом не уходят на сервер, а получают его результат.
+ * Доля склеенных запросов: shareit.gateway.requests{result=coalesced} / shareit.gateway.requests.
+ */
+class SingleFlight<V> {
+
+    static final String METRIC = "shareit.gateway.requests";
+
+    private final ConcurrentMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter upstream;
+    private final Counter coalesced;
+
+    SingleFlight(String client) {
+        // глобальный реестр: Spring Boot добавляет в него свой MeterRegistry
+        this.upstream = Metrics.counter(METRIC, "client", client, "result", "upstream");
+        this.coalesced = Metrics.counter(METRIC, "client", client, "result", "coalesced");
+    }
+
+    V execute(String key, Supplier<V> call) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, own);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+
+        upstream.increment();
+        try {
+            V result = call.get();
+            own.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // и Error тоже: иначе ведомые навсегда зависнут в join()
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -8,6 +8,9 @@ import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.comment.CommentCreateDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -26,6 +29,10 @@ public class ItemClient extends BaseClient {
         return post("", userId, null, itemDto);
     }
 
+    public ResponseEntity<Object> createItems(long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, null, itemDtos);
+    }
+
     public ResponseEntity<Object> updateItem(long itemId, long userId, ItemDto itemDto) {
         return patch("/" + itemId, userId, null, itemDto);
     }
@@ -34,19 +41,38 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId, userId);
     }
 
+    public ResponseEntity<Object> getItems(List<Long> itemIds, long userId) {
+        return get("", userId, Map.of("ids", BaseClient.joinIds(itemIds)));
+    }
+
     public ResponseEntity<Object> getAllUserItems(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> searchItems(String text, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "text", text,
-                "from", from != null ? from : 0,
-                "size", size != null ? size : 20
-        );
+    public ResponseEntity<Object> getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("to", to);
+        return get("/" + itemId + "/availability", null, parameters);
+    }
+
+    public ResponseEntity<Object> searchItems(String text, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("from", from != null ? from : 0);
+        parameters.put("size", size != null ? size : 20);
+        parameters.put("cursor", cursor);
         return get("/search", null, parameters);
     }
 
+    public ResponseEntity<Object> getComments(long itemId, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from != null ? from : 0);
+        parameters.put("size", size != null ? size : 10);
+        parameters.put("cursor", cursor);
+        return get("/" + itemId + "/comments", null, parameters);
+    }
+
     public ResponseEntity<Object> addComment(long itemId, long userId, CommentCreateDto commentDto) {
         return post("/" + itemId + "/comment", userId, null, commentDto);
     }
@@ -1,16 +1,23 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.comment.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/items")
@@ -18,6 +25,9 @@ import ru.practicum.shareit.item.dto.ItemDto;
 @Validated
 public class ItemController {
 
+    static final int MAX_BATCH_SIZE = 100;
+    static final int MAX_CREATE_BATCH_SIZE = 500;
+
     private final ItemClient itemClient;
 
     @PostMapping
@@ -28,6 +38,14 @@ public class ItemController {
         return itemClient.createItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody @NotEmpty @Size(max = MAX_CREATE_BATCH_SIZE) List<@NotNull @Valid ItemDto> itemDtos) {
+        log.info("Post {} new items, owner id is {}", itemDtos.size(), userId);
+        return itemClient.createItems(userId, itemDtos);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getItemsByOwner(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -37,6 +55,14 @@ public class ItemController {
         return itemClient.getAllUserItems(userId);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getItemsByIds(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull @Positive Long> ids) {
+        log.info("Getting items {} for user {}", ids, userId);
+        return itemClient.getItems(ids, userId);
+    }
+
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> getItemById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -54,13 +80,33 @@ public class ItemController {
         return itemClient.updateItem(itemId, userId, itemDto);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Getting availability of item {} from {} to {}", itemId, from, to);
+        return itemClient.getAvailability(itemId, from, to);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Object> searchItems(
             @RequestParam String text,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-            @Positive @RequestParam(defaultValue = "20") Integer size) {
-        log.info("Getting items by request: {}", text);
-        return itemClient.searchItems(text, from, size);
+            @Positive @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor) {
+        log.info("Getting items by request: {}, from={}, size={}, cursor={}", text, from, size, cursor);
+        return itemClient.searchItems(text, from, size, cursor);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(
+            @PathVariable Long itemId,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Positive @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        log.info("Getting comments of item {}, from={}, size={}, cursor={}", itemId, from, size, cursor);
+        return itemClient.getComments(itemId, from, size, cursor);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -6,6 +6,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
 
@@ -32,6 +35,10 @@ public class UserClient extends BaseClient {
         return get("", 0L);
     }
 
+    public ResponseEntity<Object> getUsers(List<Long> userIds) {
+        return get("", 0L, Map.of("ids", BaseClient.joinIds(userIds)));
+    }
+
     public ResponseEntity<Object> deleteUser(Long userId) {
         return delete("/" + userId, 0L);
     }
@@ -1,12 +1,18 @@
 package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/users")
@@ -14,6 +20,8 @@ import org.springframework.web.bind.annotation.*;
 @Validated
 public class UserController {
 
+    static final int MAX_BATCH_SIZE = 100;
+
     private final UserClient userClient;
 
     @PostMapping
@@ -42,6 +50,13 @@ public class UserController {
         return userClient.getAllUsers();
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getUsersByIds(
+            @RequestParam @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull @Positive Long> ids) {
+        log.info("Getting users by ids = {}", ids);
+        return userClient.getUsers(ids);
+    }
+
     @DeleteMapping("/{userId}")
     public ResponseEntity<Object> deleteUser(@PathVariable Long userId) {
         log.info("Deleting user by id = {}", userId);
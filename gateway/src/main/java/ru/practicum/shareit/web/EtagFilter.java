@@ -0,0 +1,12 @@
+package ru.practicum.shareit.web;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Отвечает клиенту 304 без тела, если If-None-Match совпал с ETag ответа.
+ * ETag, пришедший от сервера, фильтр не пересчитывает, а использует как есть.
+ */
+@Component
+public class EtagFilter extends ShallowEtagHeaderFilter {
+}
@@ -27,11 +27,11 @@ class BookingControllerExceptionTest {
         BookingController controller = new BookingController(bookingClient);
 
         // Мокируем ответ от клиента — ошибка 400
-        when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt()))
+        when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), isNull()))
                 .thenReturn(ResponseEntity.badRequest().build());
 
         // When
-        ResponseEntity<Object> response = controller.getBookings(1L, "ALL", 0, 10);
+        ResponseEntity<Object> response = controller.getBookings(1L, "ALL", 0, 10, null);
 
         // Then
         assertNotNull(response);
@@ -21,6 +21,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -52,7 +54,7 @@ class BookingControllerTest {
 
     @Test
     void shouldGetBookings() throws Exception {
-        when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt()))
+        when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), isNull()))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/bookings")
@@ -65,7 +67,7 @@ class BookingControllerTest {
 
     @Test
     void shouldGetBookingsWithDefaultParams() throws Exception {
-        when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt()))
+        when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), isNull()))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/bookings")
@@ -84,7 +86,7 @@ class BookingControllerTest {
 
     @Test
     void shouldGetOwnerBookings() throws Exception {
-        when(bookingClient.getOwnerBookings(anyLong(), any(BookingState.class), anyInt(), anyInt()))
+        when(bookingClient.getOwnerBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), isNull()))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/bookings/owner")
@@ -95,6 +97,18 @@ class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldPassCursorToClient() throws Exception {
+        when(bookingClient.getOwnerBookings(eq(1L), eq(BookingState.WAITING), eq(0), eq(10), eq("MHw3")))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("state", "WAITING")
+                        .param("cursor", "MHw3"))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void shouldBookItem() throws Exception {
         BookItemRequestDto requestDto = BookItemRequestDto.builder()
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class BaseClientTest {
+
+    private static final String SERVER_URL = "http://localhost:9090";
+
+    private MockRestServiceServer server;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        client = new TestClient(restTemplate);
+    }
+
+    @Test
+    void get_shouldRelayBodyBytesAndSelectedHeaders() {
+        String json = "[{\"id\":1,\"name\":\"Дрель\"}]";
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.set("X-Next-Cursor", "MHw3");
+        serverHeaders.setETag("\"0abc\"");
+        serverHeaders.set("X-Internal", "secret");
+
+        // порядок параметров зависит от итерации Map, поэтому каждый проверяется отдельно
+        server.expect(requestTo(startsWith(SERVER_URL + "/items?")))
+                .andExpect(queryParam("from", "0"))
+                .andExpect(queryParam("size", "10"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(json, MediaType.APPLICATION_JSON).headers(serverHeaders));
+
+        ResponseEntity<Object> response = client.get("", 1L, Map.of("from", 0, "size", 10));
+
+        server.verify();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isInstanceOf(byte[].class);
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8)).isEqualTo(json);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("MHw3");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"0abc\"");
+        assertThat(response.getHeaders().containsKey("X-Internal")).isFalse();
+    }
+
+    @Test
+    void get_whenServerReturnsError_shouldRelayStatusAndBody() {
+        String json = "{\"error\":\"Вещь не найдена\"}";
+        server.expect(requestTo(SERVER_URL + "/items/99"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(json));
+
+        ResponseEntity<Object> response = client.get("/99", 1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8)).isEqualTo(json);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void delete_whenServerReturnsNoBody_shouldReturnEmptyResponse() {
+        server.expect(requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withSuccess());
+
+        ResponseEntity<Object> response = client.delete("/1", 1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.hasBody()).isFalse();
+    }
+
+    @Test
+    void get_whenCachedResponseNotModified_shouldRevalidateAndReturnCachedBody() {
+        String json = "{\"id\":1}";
+        server.expect(requestTo(SERVER_URL + "/items/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(json, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"0abc\""));
+        server.expect(requestTo(SERVER_URL + "/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"0abc\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        client.get("/1", 1L);
+        ResponseEntity<Object> response = client.get("/1", 1L);
+
+        server.verify();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8)).isEqualTo(json);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"0abc\"");
+    }
+
+    @Test
+    void get_shouldNotShareCachedResponsesBetweenUsers() {
+        server.expect(requestTo(SERVER_URL + "/items/1"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"0abc\""));
+        server.expect(requestTo(SERVER_URL + "/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        client.get("/1", 1L);
+        client.get("/1", 2L);
+
+        server.verify();
+    }
+
+    private static class TestClient extends BaseClient {
+
+        TestClient(RestTemplate rest) {
+            super(rest, SERVER_URL + "/items");
+        }
+    }
+}
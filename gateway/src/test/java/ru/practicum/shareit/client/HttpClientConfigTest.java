@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "shareit-server.http-client.max-total=40",
+        "shareit-server.http-client.max-per-route=20"
+})
+class HttpClientConfigTest {
+
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    @Autowired
+    private HttpComponentsClientHttpRequestFactory requestFactory;
+
+    @Autowired
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void restTemplates_shouldShareOneRequestFactory() {
+        assertThat(restTemplateBuilder.build().getRequestFactory()).isSameAs(requestFactory);
+        assertThat(restTemplateBuilder.build().getRequestFactory()).isSameAs(requestFactory);
+    }
+
+    @Test
+    void connectionManager_shouldUseConfiguredLimits() {
+        assertThat(connectionManager.getMaxTotal()).isEqualTo(40);
+        assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(20);
+    }
+
+    @Test
+    void poolGauges_shouldBeRegistered() {
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", HttpClientConfig.POOL_NAME)
+                .gauge())
+                .isNotNull()
+                .satisfies(gauge -> assertThat(gauge.value()).isEqualTo(40.0));
+    }
+}
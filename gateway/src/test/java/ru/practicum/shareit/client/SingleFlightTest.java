@@ -0,0 +1,128 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    void execute_whenSameKeyInFlight_shouldCallUpstreamOnce() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>("coalesce-test");
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("/items/1#1", () -> {
+            calls.incrementAndGet();
+            entered.countDown();
+            await(release);
+            return "item";
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<String> follower = executor.submit(() -> singleFlight.execute("/items/1#1", () -> {
+            calls.incrementAndGet();
+            return "other";
+        }));
+        while (coalescedCount("coalesce-test") < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("item");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("item");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(registry.get(SingleFlight.METRIC).tags("client", "coalesce-test", "result", "upstream")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_whenCallsDoNotOverlap_shouldCallUpstreamEachTime() {
+        SingleFlight<Integer> singleFlight = new SingleFlight<>("sequential-test");
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("/items/1#1", calls::incrementAndGet);
+        int second = singleFlight.execute("/items/1#1", calls::incrementAndGet);
+
+        assertThat(second).isEqualTo(2);
+        assertThat(coalescedCount("sequential-test")).isZero();
+    }
+
+    @Test
+    void execute_whenUpstreamFails_shouldRethrowAndForgetKey() {
+        SingleFlight<String> singleFlight = new SingleFlight<>("failure-test");
+
+        assertThatThrownBy(() -> singleFlight.execute("/items/1#1", () -> {
+            throw new IllegalStateException("Сервер недоступен");
+        }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("/items/1#1", () -> "item")).isEqualTo("item");
+    }
+
+    @Test
+    void execute_whenLeaderThrowsError_shouldReleaseFollowersAndForgetKey() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>("error-test");
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("/items/1#1", () -> {
+            entered.countDown();
+            await(release);
+            throw new StackOverflowError();
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<String> follower = executor.submit(() -> singleFlight.execute("/items/1#1", () -> "other"));
+        while (coalescedCount("error-test") < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(singleFlight.execute("/items/1#1", () -> "item")).isEqualTo("item");
+    }
+
+    private double coalescedCount(String client) {
+        return registry.get(SingleFlight.METRIC).tags("client", client, "result", "coalesced")
+                .counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -15,6 +15,7 @@ import ru.practicum.shareit.item.comment.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -60,6 +61,38 @@ class ItemControllerTest {
         verify(itemClient).createItem(eq(1L), any(ItemDto.class));
     }
 
+    @Test
+    void shouldGetItemsByIds() throws Exception {
+        when(itemClient.getItems(anyList(), anyLong()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("ids", "3,1"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getItems(List.of(3L, 1L), 1L);
+        verify(itemClient, never()).getAllUserItems(anyLong());
+    }
+
+    @Test
+    void shouldAddItemsInBatch() throws Exception {
+        List<ItemDto> itemDtos = List.of(
+                ItemDto.builder().name("Drill").description("Powerful drill").available(true).build(),
+                ItemDto.builder().name("Saw").description("Sharp saw").available(true).build());
+
+        when(itemClient.createItems(anyLong(), anyList()))
+                .thenReturn(ResponseEntity.status(201).build());
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemDtos)))
+                .andExpect(status().isCreated());
+
+        verify(itemClient).createItems(eq(1L), argThat(items -> items.size() == 2));
+    }
+
     @Test
     void shouldValidateItemDtoOnAdd() throws Exception {
         ItemDto invalidItemDto = ItemDto.builder()
@@ -123,7 +156,7 @@ class ItemControllerTest {
 
     @Test
     void shouldSearchItems() throws Exception {
-        when(itemClient.searchItems(anyString(), anyInt(), anyInt()))
+        when(itemClient.searchItems(anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(Collections.emptyList()));
 
         mockMvc.perform(get("/items/search")
@@ -132,19 +165,56 @@ class ItemControllerTest {
                         .param("size", "10"))
                 .andExpect(status().isOk());
 
-        verify(itemClient).searchItems(eq("drill"), eq(0), eq(10));
+        verify(itemClient).searchItems(eq("drill"), eq(0), eq(10), isNull());
     }
 
     @Test
     void shouldSearchItemsWithDefaultParams() throws Exception {
-        when(itemClient.searchItems(anyString(), anyInt(), anyInt()))
+        when(itemClient.searchItems(anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(Collections.emptyList()));
 
         mockMvc.perform(get("/items/search")
                         .param("text", "drill"))
                 .andExpect(status().isOk());
 
-        verify(itemClient).searchItems(eq("drill"), eq(0), eq(20));
+        verify(itemClient).searchItems(eq("drill"), eq(0), eq(20), isNull());
+    }
+
+    @Test
+    void shouldPassCursorToClientWhenSearching() throws Exception {
+        when(itemClient.searchItems(anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(ResponseEntity.ok(Collections.emptyList()));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .param("cursor", "MHw3"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).searchItems(eq("drill"), eq(0), eq(20), eq("MHw3"));
+    }
+
+    @Test
+    void shouldGetCommentsWithDefaultParams() throws Exception {
+        when(itemClient.getComments(anyLong(), anyInt(), anyInt(), any()))
+                .thenReturn(ResponseEntity.ok(Collections.emptyList()));
+
+        mockMvc.perform(get("/items/{itemId}/comments", 100))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getComments(eq(100L), eq(0), eq(10), isNull());
+    }
+
+    @Test
+    void shouldPassCursorToClientWhenGettingComments() throws Exception {
+        when(itemClient.getComments(anyLong(), anyInt(), anyInt(), any()))
+                .thenReturn(ResponseEntity.ok(Collections.emptyList()));
+
+        mockMvc.perform(get("/items/{itemId}/comments", 100)
+                        .param("size", "5")
+                        .param("cursor", "MHw3"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getComments(eq(100L), eq(0), eq(5), eq("MHw3"));
     }
 
     @Test
@@ -165,13 +235,13 @@ class ItemControllerTest {
 
     @Test
     void shouldReturnBadRequestWhenTextIsEmptyInSearch() throws Exception {
-        when(itemClient.searchItems(anyString(), anyInt(), anyInt()))
+        when(itemClient.searchItems(anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(Collections.emptyList()));
 
         mockMvc.perform(get("/items/search")
                         .param("text", ""))
                 .andExpect(status().isOk());
 
-        verify(itemClient).searchItems(eq(""), eq(0), eq(20));
+        verify(itemClient).searchItems(eq(""), eq(0), eq(20), isNull());
     }
 }
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Результат обработки одной строки пакетного запроса.
+ * Ответ пакетного эндпоинта — список таких строк в порядке запроса;
+ * status — HTTP-код, который вернул бы одиночный запрос для этой строки.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult<T> {
+    private final Long id;
+    private final int status;
+    private final T result;
+    private final String error;
+
+    public static <T> BatchResult<T> ok(Long id, HttpStatus status, T result) {
+        return new BatchResult<>(id, status.value(), result, null);
+    }
+
+    public static <T> BatchResult<T> failed(Long id, HttpStatus status, String error) {
+        return new BatchResult<>(id, status.value(), null, error);
+    }
+}
@@ -2,10 +2,14 @@ package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.util.List;
 
@@ -23,6 +27,14 @@ public class BookingController {
         return bookingService.createBooking(bookingDto, userId);
     }
 
+    @PatchMapping("/batch")
+    public List<BatchResult<BookingResponseDto>> approveBookings(
+            @RequestParam Boolean approved,
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestBody List<Long> bookingIds) {
+        return bookingService.approveBookings(bookingIds, approved, ownerId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingResponseDto approveBooking(
             @PathVariable Long bookingId,
@@ -39,32 +51,49 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingResponseDto> getBookingsByUser(
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByUser(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
 
         if (!BookingState.contains(state)) {
             throw new IllegalArgumentException("Unknown state: " + state);
         }
 
-        PageRequest page = PageRequest.of(from / size, size);
-        return bookingService.getBookingsByUser(userId, state, page);
+        List<BookingResponseDto> bookings = cursor == null
+                ? bookingService.getBookingsByUser(userId, state, OffsetPageRequest.of(from, size))
+                : bookingService.getBookingsByUser(userId, state, cursor, size);
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getBookingsByOwner(
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByOwner(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
 
         if (!BookingState.contains(state)) {
             throw new IllegalArgumentException("Unknown state: " + state);
         }
 
-        PageRequest page = PageRequest.of(from / size, size);
-        return bookingService.getBookingsByOwner(ownerId, state, page);
+        List<BookingResponseDto> bookings = cursor == null
+                ? bookingService.getBookingsByOwner(ownerId, state, OffsetPageRequest.of(from, size))
+                : bookingService.getBookingsByOwner(ownerId, state, cursor, size);
+        return withNextCursor(bookings, size);
+    }
+
+    // Полная страница — значит, дальше могут быть записи: отдаём курсор на последнюю
+    private static ResponseEntity<List<BookingResponseDto>> withNextCursor(List<BookingResponseDto> bookings,
+                                                                           int size) {
+        String nextCursor = null;
+        if (bookings.size() == size) {
+            BookingResponseDto last = bookings.get(size - 1);
+            nextCursor = PageCursor.of(last.getStart(), last.getId()).encode();
+        }
+        return new CursorPage<>(bookings, nextCursor).toResponseEntity();
     }
 }
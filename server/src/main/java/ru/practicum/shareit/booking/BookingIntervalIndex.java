@@ -0,0 +1,158 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Индекс подтверждённых бронирований в памяти: для каждой вещи — отсортированные по началу интервалы.
+ * Набор вещи загружается из БД при первом обращении (только незавершённые бронирования),
+ * дополняется после коммита подтверждения и по ходу работы освобождается от завершённых интервалов.
+ * <p>
+ * Подтверждённые бронирования одной вещи не пересекаются (это гарантирует BookingServiceImpl),
+ * поэтому проверка конфликта смотрит только на интервал с ближайшим меньшим началом — O(log n).
+ * Индекс локален для экземпляра и может отставать от БД, поэтому решение о записи
+ * всё равно принимается запросом под блокировкой вещи; индекс только отсекает явные конфликты.
+ */
+@Component
+public class BookingIntervalIndex {
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemIntervals> intervals = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofHours(1)) // при перезагрузке завершённые интервалы отбрасываются
+            .build();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    public boolean hasConflict(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return intervalsOf(itemId).pruneEnded(LocalDateTime.now()).overlaps(start, end);
+    }
+
+    public List<AvailabilitySlotDto> freeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return intervalsOf(itemId).freeSlots(from, to);
+    }
+
+    // Добавляется только после коммита: откат транзакции не оставит в индексе лишний интервал
+    public void addAfterCommit(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Interval interval = new Interval(booking.getId(), booking.getStart(), booking.getEnd());
+        afterCommit(() -> add(itemId, interval));
+    }
+
+    // Бронирования удаляются только каскадно вместе с пользователем или вещью — индекс перестраивается.
+    // До коммита параллельная загрузка ещё видит удаляемые брони и закэшировала бы их
+    public void invalidateAllAfterCommit() {
+        afterCommit(intervals::invalidateAll);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void add(Long itemId, Interval interval) {
+        // если набор вещи ещё загружается, computeIfPresent дождётся загрузки
+        intervals.asMap().computeIfPresent(itemId,
+                (id, set) -> set.pruneEnded(LocalDateTime.now()).add(interval));
+    }
+
+    private ItemIntervals intervalsOf(Long itemId) {
+        return intervals.get(itemId, this::load);
+    }
+
+    private ItemIntervals load(Long itemId) {
+        ItemIntervals set = new ItemIntervals();
+        bookingRepository.findByItemIdAndStatusAndEndAfter(itemId, BookingStatus.APPROVED, LocalDateTime.now())
+                .forEach(b -> set.add(new Interval(b.getId(), b.getStart(), b.getEnd())));
+        return set;
+    }
+
+    record Interval(Long bookingId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    static final class ItemIntervals {
+        private static final Comparator<Interval> BY_START = Comparator.comparing(Interval::start)
+                .thenComparing(Interval::bookingId);
+
+        private final NavigableSet<Interval> byStart = new TreeSet<>(BY_START);
+        // Повторное добавление той же брони заменяет её интервал за O(log n)
+        private final Map<Long, Interval> byBooking = new HashMap<>();
+
+        synchronized ItemIntervals add(Interval interval) {
+            Interval previous = byBooking.put(interval.bookingId(), interval);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+            byStart.add(interval);
+            return this;
+        }
+
+        // Интервалы не пересекаются, поэтому завершённые образуют префикс набора: удаление амортизированно O(1)
+        synchronized ItemIntervals pruneEnded(LocalDateTime now) {
+            while (!byStart.isEmpty() && !byStart.first().end().isAfter(now)) {
+                byBooking.remove(byStart.pollFirst().bookingId());
+            }
+            return this;
+        }
+
+        synchronized int size() {
+            return byStart.size();
+        }
+
+        // [start, end) пересекается с интервалом, у которого наибольшее начало меньше end
+        synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Interval before = byStart.lower(probe(end));
+            return before != null && before.end().isAfter(start);
+        }
+
+        synchronized List<AvailabilitySlotDto> freeSlots(LocalDateTime from, LocalDateTime to) {
+            List<AvailabilitySlotDto> slots = new ArrayList<>();
+            LocalDateTime cursor = from;
+
+            Interval first = byStart.lower(probe(from));
+            NavigableSet<Interval> busy = byStart.subSet(
+                    first != null ? first : probe(from), true, probe(to), false);
+            for (Interval interval : busy) {
+                if (interval.start().isAfter(cursor)) {
+                    slots.add(new AvailabilitySlotDto(cursor, interval.start()));
+                }
+                if (interval.end().isAfter(cursor)) {
+                    cursor = interval.end();
+                }
+            }
+            if (cursor.isBefore(to)) {
+                slots.add(new AvailabilitySlotDto(cursor, to));
+            }
+            return slots;
+        }
+
+        // Меньше любого реального интервала с тем же началом
+        private static Interval probe(LocalDateTime start) {
+            return new Interval(Long.MIN_VALUE, start, start);
+        }
+    }
+}
@@ -1,46 +1,208 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+    String BY_BOOKER = "SELECT b FROM Booking b WHERE b.booker.id = :userId";
 
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime now1, LocalDateTime now2, Pageable pageable);
+    String BY_OWNER = "SELECT b FROM Booking b WHERE b.item.ownerId = :userId";
 
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(
-            Long bookerId, LocalDateTime now, Pageable pageable);
+    // Позиция после последней записи предыдущей страницы при сортировке (start desc, id desc)
+    String BEFORE_CURSOR = " AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId))" +
+            " ORDER BY b.start DESC, b.id DESC";
 
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime now, Pageable pageable);
+    String CURRENT = " AND b.start < :now AND b.end > :now";
 
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(
-            Long bookerId, BookingStatus status, Pageable pageable);
+    String PAST = " AND b.end < :now";
+
+    String FUTURE = " AND b.start > :now";
+
+    String WITH_STATUS = " AND b.status = :status";
+
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findByItemIdInAndStartBeforeAndEndAfterOrderByStartDesc(
-            List<Long> itemIds, LocalDateTime now1, LocalDateTime now2);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByIdIn(Collection<Long> ids);
 
-    List<Booking> findByItemIdInAndEndBeforeOrderByStartDesc(
-            List<Long> itemIds, LocalDateTime now);
+    // Вещи владельца, к которым относятся бронирования пакета; сами бронирования в контекст не загружаются
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.id IN :ids AND b.item.ownerId = :ownerId")
+    List<Long> findItemIdsByIdInAndOwnerId(@Param("ids") Collection<Long> ids, @Param("ownerId") Long ownerId);
 
-    List<Booking> findByItemIdInAndStartAfterOrderByStartDesc(
-            List<Long> itemIds, LocalDateTime now);
+    // Загрузка BookingIntervalIndex: незавершённые бронирования вещи
+    List<Booking> findByItemIdAndStatusAndEndAfter(Long itemId, BookingStatus status, LocalDateTime now);
 
-    List<Booking> findByItemIdInAndStatusOrderByStartDesc(
-            List<Long> itemIds, BookingStatus status);
+    // Подтверждённые бронирования вещей пакета, которые могут пересечься с интервалами после from
+    List<Booking> findByItemIdInAndStatusAndEndAfter(Collection<Long> itemIds, BookingStatus status,
+                                                     LocalDateTime from);
 
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
+    // Пересечение интервалов [start, end) с бронированиями вещи в данном статусе
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+            Long itemId, BookingStatus status, LocalDateTime end, LocalDateTime start);
 
-    List<Booking> findByItemIdAndStatusNotOrderByStartAsc(Long itemId, BookingStatus status);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByBookerIdOrderByStartDescIdDesc(Long bookerId, Pageable pageable);
 
-    List<Booking> findByItemIdInAndStatusNotOrderByStartAsc(List<Long> itemIds, BookingStatus status);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+            Long bookerId, LocalDateTime now1, LocalDateTime now2, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByBookerIdAndEndBeforeOrderByStartDescIdDesc(
+            Long bookerId, LocalDateTime now, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByBookerIdAndStartAfterOrderByStartDescIdDesc(
+            Long bookerId, LocalDateTime now, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByBookerIdAndStatusOrderByStartDescIdDesc(
+            Long bookerId, BookingStatus status, Pageable pageable);
 
-    boolean existsByBookerIdAndItemIdAndEndBefore(Long bookerId, Long itemId, LocalDateTime end);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByItemOwnerIdOrderByStartDescIdDesc(Long ownerId, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+            Long ownerId, LocalDateTime now1, LocalDateTime now2, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(
+            Long ownerId, LocalDateTime now, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(
+            Long ownerId, LocalDateTime now, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+            Long ownerId, BookingStatus status, Pageable pageable);
+
+    /*
+     * Последнее и следующее бронирование вещи. Читается ровно одна строка на вещь
+     * по индексам (item_id, end_date) / (item_id, start_date) — сколько бы ни накопилось истории.
+     */
+
+    Optional<Booking> findFirstByItemIdAndStatusNotAndEndBeforeOrderByEndDesc(
+            Long itemId, BookingStatus excluded, LocalDateTime now);
+
+    Optional<Booking> findFirstByItemIdAndStatusNotAndStartAfterOrderByStartAsc(
+            Long itemId, BookingStatus excluded, LocalDateTime now);
+
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.status <> :excluded AND b.end < :now " +
+            "AND b.end = (SELECT MAX(l.end) FROM Booking l " +
+            "WHERE l.item.id = b.item.id AND l.status <> :excluded AND l.end < :now)")
+    List<Booking> findLastBookings(@Param("itemIds") Collection<Long> itemIds,
+                                   @Param("excluded") BookingStatus excluded,
+                                   @Param("now") LocalDateTime now);
+
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.status <> :excluded AND b.start > :now " +
+            "AND b.start = (SELECT MIN(n.start) FROM Booking n " +
+            "WHERE n.item.id = b.item.id AND n.status <> :excluded AND n.start > :now)")
+    List<Booking> findNextBookings(@Param("itemIds") Collection<Long> itemIds,
+                                   @Param("excluded") BookingStatus excluded,
+                                   @Param("now") LocalDateTime now);
+
+    /*
+     * Keyset-выборки для курсорной пагинации списков бронирований: вместо OFFSET
+     * следующая страница начинается строго после (start, id) последней записи.
+     */
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query(BY_BOOKER + BEFORE_CURSOR)
+    List<Booking> findByBookerBeforeCursor(@Param("userId") Long userId,
+                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query(BY_BOOKER + CURRENT + BEFORE_CURSOR)
+    List<Booking> findCurrentByBookerBeforeCursor(@Param("userId") Long userId,
+                                                  @Param("now") LocalDateTime now,
+                                                  @Param("cursorStart") LocalDateTime cursorStart,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query(BY_BOOKER + PAST + BEFORE_CURSOR)
+    List<Booking> findPastByBookerBeforeCursor(@Param("userId") Long userId,
+                                               @Param("now") LocalDateTime now,
+                                               @Param("cursorStart") LocalDateTime cursorStart,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query(BY_BOOKER + FUTURE + BEFORE_CURSOR)
+    List<Booking> findFutureByBookerBeforeCursor(@Param("userId") Long userId,
+                                                 @Param("now") LocalDateTime now,
+                                                 @Param("cursorStart") LocalDateTime cursorStart,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query(BY_BOOKER + WITH_STATUS + BEFORE_CURSOR)
+    List<Booking> findByBookerAndStatusBeforeCursor(@Param("userId") Long userId,
+                                                    @Param("status") BookingStatus status,
+                                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query(BY_OWNER + BEFORE_CURSOR)
+    List<Booking> findByOwnerBeforeCursor(@Param("userId") Long ownerId,
+                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query(BY_OWNER + CURRENT + BEFORE_CURSOR)
+    List<Booking> findCurrentByOwnerBeforeCursor(@Param("userId") Long ownerId,
+                                                 @Param("now") LocalDateTime now,
+                                                 @Param("cursorStart") LocalDateTime cursorStart,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query(BY_OWNER + PAST + BEFORE_CURSOR)
+    List<Booking> findPastByOwnerBeforeCursor(@Param("userId") Long ownerId,
+                                              @Param("now") LocalDateTime now,
+                                              @Param("cursorStart") LocalDateTime cursorStart,
+                                              @Param("cursorId") Long cursorId,
+                                              Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query(BY_OWNER + FUTURE + BEFORE_CURSOR)
+    List<Booking> findFutureByOwnerBeforeCursor(@Param("userId") Long ownerId,
+                                                @Param("now") LocalDateTime now,
+                                                @Param("cursorStart") LocalDateTime cursorStart,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query(BY_OWNER + WITH_STATUS + BEFORE_CURSOR)
+    List<Booking> findByOwnerAndStatusBeforeCursor(@Param("userId") Long ownerId,
+                                                   @Param("status") BookingStatus status,
+                                                   @Param("cursorStart") LocalDateTime cursorStart,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
+
+    /**
+     * Право оставить отзыв: завершённое подтверждённое бронирование вещи.
+     * Одна проба индекса idx_bookings_booker_item_status_end.
+     */
+    boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(Long bookerId, Long itemId, BookingStatus status,
+                                                           LocalDateTime end);
 }
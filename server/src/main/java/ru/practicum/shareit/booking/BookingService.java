@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
@@ -11,9 +12,15 @@ public interface BookingService {
 
     BookingResponseDto approveBooking(Long bookingId, Boolean approved, Long ownerId);
 
+    List<BatchResult<BookingResponseDto>> approveBookings(List<Long> bookingIds, Boolean approved, Long ownerId);
+
     BookingResponseDto getBookingById(Long bookingId, Long userId);
 
     List<BookingResponseDto> getBookingsByUser(Long userId, String state, Pageable pageable);
 
     List<BookingResponseDto> getBookingsByOwner(Long ownerId, String state, Pageable pageable);
+
+    List<BookingResponseDto> getBookingsByUser(Long userId, String state, String cursor, int size);
+
+    List<BookingResponseDto> getBookingsByOwner(Long ownerId, String state, String cursor, int size);
 }
@@ -1,34 +1,68 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.MeterTag;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.ServiceMetrics;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceValidator;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(ServiceMetrics.SERVICE_TIMER)
 public class BookingServiceImpl implements BookingService {
 
+    private static final String OVERLAP_MESSAGE = "Вещь уже забронирована на эти даты";
+    // Тот же предел, что в gateway
+    static final int MAX_BATCH_SIZE = 100;
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper; // внедрённый маппер
+    private final UserExistenceValidator userValidator;
+    private final BookingIntervalIndex intervalIndex;
+    private final MeterRegistry meterRegistry;
 
+    // Вещь блокируется до коммита: проверка пересечений и вставка не разделяются параллельным подтверждением
     @Override
+    @Transactional
     public BookingResponseDto createBooking(BookingDto bookingDto, Long userId) {
         User booker = getUserOrThrow(userId);
-        Item item = getItemOrThrow(bookingDto.getItemId());
+        // явный конфликт с подтверждённой бронью отсекается по индексу, без блокировки вещи
+        if (bookingDto.getStart() != null && bookingDto.getEnd() != null
+                && intervalIndex.hasConflict(bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new BookingConflictException(OVERLAP_MESSAGE);
+        }
+        Item item = lockItemOrThrow(bookingDto.getItemId());
 
         if (!item.getAvailable()) {
             throw new IllegalArgumentException("Вещь недоступна для бронирования");
@@ -39,30 +73,96 @@ public class BookingServiceImpl implements BookingService {
 
         Booking booking = bookingMapper.toBooking(bookingDto, item, booker);
         booking.setStatus(BookingStatus.WAITING);
+        checkNoApprovedOverlap(booking);
 
         Booking saved = bookingRepository.save(booking);
         return bookingMapper.toResponseDto(saved, item, booker);
     }
 
+    // Любая смена статуса блокирует вещь: так approveBookings, загружающий брони уже под блокировкой,
+    // не столкнётся с параллельным изменением; гонку внутри одиночного запроса ловит @Version
     @Override
+    @Transactional
     public BookingResponseDto approveBooking(Long bookingId, Boolean approved, Long ownerId) {
         Booking booking = getBookingOrThrow(bookingId);
         Item item = getItemOrThrow(booking.getItem().getId());
 
-        if (!item.getOwnerId().equals(ownerId)) {
-            throw new AccessDeniedException("Только владелец может подтвердить бронирование");
-        }
-        if (booking.getStatus() != BookingStatus.WAITING) {
-            throw new IllegalArgumentException("Можно подтверждать только ожидающие запросы");
+        checkApprovable(booking, item, ownerId);
+        lockItemOrThrow(item.getId());
+        if (approved) {
+            checkNoApprovedOverlap(booking);
         }
 
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         Booking updated = bookingRepository.save(booking);
+        if (approved) {
+            intervalIndex.addAfterCommit(updated);
+        }
 
         return bookingMapper.toResponseDto(updated, item, booking.getBooker());
     }
 
+    // Сначала блокируются вещи владельца, затем под блокировкой загружаются брони: параллельная смена
+    // статуса их не обгонит, и @Version не отменит весь пакет при коммите.
+    // Все запросы выполняются до первого изменения, пересечения проверяются в памяти, поэтому AUTO flush
+    // не срабатывает, а новые статусы уходят одним JDBC-пакетом при коммите.
+    // Каждая строка проверяется как в approveBooking; ошибка в одной строке не отменяет остальные.
     @Override
+    @Transactional
+    public List<BatchResult<BookingResponseDto>> approveBookings(List<Long> bookingIds, Boolean approved,
+                                                                 Long ownerId) {
+        if (bookingIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Пакет не может содержать больше " + MAX_BATCH_SIZE + " бронирований");
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(bookingIds);
+        List<Long> ownedItemIds = bookingRepository.findItemIdsByIdInAndOwnerId(uniqueIds, ownerId);
+        if (!ownedItemIds.isEmpty()) {
+            itemRepository.findAllByIdForUpdate(ownedItemIds);
+        }
+        Map<Long, Booking> bookings = bookingRepository.findByIdIn(uniqueIds).stream()
+                .collect(Collectors.toMap(Booking::getId, booking -> booking));
+        Map<Long, List<Booking>> approvedByItem = approved
+                ? loadApprovedByItem(ownedItemIds, bookings.values())
+                : Map.of();
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+
+        List<BatchResult<BookingResponseDto>> results = new ArrayList<>(bookingIds.size());
+        for (Long bookingId : bookingIds) {
+            Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                results.add(BatchResult.failed(bookingId, HttpStatus.NOT_FOUND, "Бронирование не найдено"));
+                continue;
+            }
+            try {
+                checkApprovable(booking, booking.getItem(), ownerId);
+                if (approved) {
+                    // подтверждённые ранее строки пакета уже добавлены в approvedByItem
+                    checkNoOverlap(booking, approvedByItem.getOrDefault(booking.getItem().getId(), List.of()));
+                }
+            } catch (AccessDeniedException e) {
+                results.add(BatchResult.failed(bookingId, HttpStatus.FORBIDDEN, e.getMessage()));
+                continue;
+            } catch (IllegalArgumentException e) {
+                results.add(BatchResult.failed(bookingId, HttpStatus.BAD_REQUEST, e.getMessage()));
+                continue;
+            } catch (BookingConflictException e) {
+                results.add(BatchResult.failed(bookingId, HttpStatus.CONFLICT, e.getMessage()));
+                continue;
+            }
+
+            booking.setStatus(status);
+            if (approved) {
+                approvedByItem.computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>()).add(booking);
+                intervalIndex.addAfterCommit(booking);
+            }
+            results.add(BatchResult.ok(bookingId, HttpStatus.OK,
+                    bookingMapper.toResponseDto(booking, booking.getItem(), booking.getBooker())));
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public BookingResponseDto getBookingById(Long bookingId, Long userId) {
         Booking booking = getBookingOrThrow(bookingId);
         Long ownerId = booking.getItem().getOwnerId();
@@ -76,63 +176,175 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingResponseDto> getBookingsByUser(Long userId, String state, Pageable pageable) {
-        getUserOrThrow(userId);
+    @Transactional(readOnly = true)
+    @Timed(ServiceMetrics.BOOKING_LIST_TIMER)
+    public List<BookingResponseDto> getBookingsByUser(Long userId, @MeterTag("state") String state,
+                                                      Pageable pageable) {
+        userValidator.requireExists(userId);
         LocalDateTime now = LocalDateTime.now();
 
         List<Booking> bookings = switch (state) {
-            case "CURRENT" -> bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
+            case "CURRENT" -> bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
                     userId, now, now, pageable);
-            case "PAST" -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(
+            case "PAST" -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc(
                     userId, now, pageable);
-            case "FUTURE" -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(
+            case "FUTURE" -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc(
                     userId, now, pageable);
-            case "WAITING" -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
+            case "WAITING" -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(
                     userId, BookingStatus.WAITING, pageable);
-            case "REJECTED" -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
+            case "REJECTED" -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(
                     userId, BookingStatus.REJECTED, pageable);
-            default -> bookingRepository.findByBookerIdOrderByStartDesc(userId, pageable);
+            default -> bookingRepository.findByBookerIdOrderByStartDescIdDesc(userId, pageable);
         };
 
-        return bookings.stream()
-                .map(b -> bookingMapper.toResponseDto(b, b.getItem(), b.getBooker()))
-                .toList();
+        return toResponseDtos(bookings, "getBookingsByUser", state);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(ServiceMetrics.BOOKING_LIST_TIMER)
+    public List<BookingResponseDto> getBookingsByOwner(Long ownerId, @MeterTag("state") String state,
+                                                       Pageable pageable) {
+        userValidator.requireExists(ownerId);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Владелец вещи хранится в items.owner_id — фильтруем соединением, без предзагрузки вещей
+        List<Booking> bookings = switch (state) {
+            case "CURRENT" -> bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                    ownerId, now, now, pageable);
+            case "PAST" -> bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(
+                    ownerId, now, pageable);
+            case "FUTURE" -> bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(
+                    ownerId, now, pageable);
+            case "WAITING" -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+                    ownerId, BookingStatus.WAITING, pageable);
+            case "REJECTED" -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+                    ownerId, BookingStatus.REJECTED, pageable);
+            default -> bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(ownerId, pageable);
+        };
+
+        return toResponseDtos(bookings, "getBookingsByOwner", state);
     }
 
     @Override
-    public List<BookingResponseDto> getBookingsByOwner(Long ownerId, String state, Pageable pageable) {
-        getUserOrThrow(ownerId);
-        List<Long> itemIds = itemRepository.findByOwnerIdOrderById(ownerId).stream()
-                .map(Item::getId).toList();
-        if (itemIds.isEmpty()) return List.of();
+    @Transactional(readOnly = true)
+    @Timed(ServiceMetrics.BOOKING_LIST_TIMER)
+    public List<BookingResponseDto> getBookingsByUser(Long userId, @MeterTag("state") String state,
+                                                      String cursor, int size) {
+        userValidator.requireExists(userId);
+        PageCursor position = PageCursor.decode(cursor);
+        LocalDateTime cursorStart = position.dateTimeKey();
+        Long cursorId = position.getId();
+        Pageable limit = PageRequest.ofSize(size);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Booking> bookings = switch (state) {
+            case "CURRENT" -> bookingRepository.findCurrentByBookerBeforeCursor(
+                    userId, now, cursorStart, cursorId, limit);
+            case "PAST" -> bookingRepository.findPastByBookerBeforeCursor(
+                    userId, now, cursorStart, cursorId, limit);
+            case "FUTURE" -> bookingRepository.findFutureByBookerBeforeCursor(
+                    userId, now, cursorStart, cursorId, limit);
+            case "WAITING" -> bookingRepository.findByBookerAndStatusBeforeCursor(
+                    userId, BookingStatus.WAITING, cursorStart, cursorId, limit);
+            case "REJECTED" -> bookingRepository.findByBookerAndStatusBeforeCursor(
+                    userId, BookingStatus.REJECTED, cursorStart, cursorId, limit);
+            default -> bookingRepository.findByBookerBeforeCursor(userId, cursorStart, cursorId, limit);
+        };
+
+        return toResponseDtos(bookings, "getBookingsByUser", state);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(ServiceMetrics.BOOKING_LIST_TIMER)
+    public List<BookingResponseDto> getBookingsByOwner(Long ownerId, @MeterTag("state") String state,
+                                                       String cursor, int size) {
+        userValidator.requireExists(ownerId);
+        PageCursor position = PageCursor.decode(cursor);
+        LocalDateTime cursorStart = position.dateTimeKey();
+        Long cursorId = position.getId();
+        Pageable limit = PageRequest.ofSize(size);
         LocalDateTime now = LocalDateTime.now();
 
         List<Booking> bookings = switch (state) {
-            case "CURRENT" -> bookingRepository.findByItemIdInAndStartBeforeAndEndAfterOrderByStartDesc(
-                    itemIds, now, now);
-            case "PAST" -> bookingRepository.findByItemIdInAndEndBeforeOrderByStartDesc(itemIds, now);
-            case "FUTURE" -> bookingRepository.findByItemIdInAndStartAfterOrderByStartDesc(itemIds, now);
-            case "WAITING" -> bookingRepository.findByItemIdInAndStatusOrderByStartDesc(
-                    itemIds, BookingStatus.WAITING);
-            case "REJECTED" -> bookingRepository.findByItemIdInAndStatusOrderByStartDesc(
-                    itemIds, BookingStatus.REJECTED);
-            default -> bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId, pageable);
+            case "CURRENT" -> bookingRepository.findCurrentByOwnerBeforeCursor(
+                    ownerId, now, cursorStart, cursorId, limit);
+            case "PAST" -> bookingRepository.findPastByOwnerBeforeCursor(
+                    ownerId, now, cursorStart, cursorId, limit);
+            case "FUTURE" -> bookingRepository.findFutureByOwnerBeforeCursor(
+                    ownerId, now, cursorStart, cursorId, limit);
+            case "WAITING" -> bookingRepository.findByOwnerAndStatusBeforeCursor(
+                    ownerId, BookingStatus.WAITING, cursorStart, cursorId, limit);
+            case "REJECTED" -> bookingRepository.findByOwnerAndStatusBeforeCursor(
+                    ownerId, BookingStatus.REJECTED, cursorStart, cursorId, limit);
+            default -> bookingRepository.findByOwnerBeforeCursor(ownerId, cursorStart, cursorId, limit);
         };
 
+        return toResponseDtos(bookings, "getBookingsByOwner", state);
+    }
+
+    // Вспомогательные методы
+    private List<BookingResponseDto> toResponseDtos(List<Booking> bookings, String method, String state) {
+        meterRegistry.summary(ServiceMetrics.BOOKING_LIST_SIZE, "method", method, "state", state)
+                .record(bookings.size());
         return bookings.stream()
                 .map(b -> bookingMapper.toResponseDto(b, b.getItem(), b.getBooker()))
                 .toList();
     }
 
-    // Вспомогательные методы
     private User getUserOrThrow(Long userId) {
-        return userRepository.findById(userId)
+        return userRepository.findCachedById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь не найден"));
     }
 
+    private void checkNoApprovedOverlap(Booking booking) {
+        if (bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                booking.getItem().getId(), BookingStatus.APPROVED, booking.getEnd(), booking.getStart())) {
+            throw new BookingConflictException(OVERLAP_MESSAGE);
+        }
+    }
+
+    // Подтверждённые брони вещей пакета, заканчивающиеся после самого раннего начала среди его броней
+    private Map<Long, List<Booking>> loadApprovedByItem(Collection<Long> itemIds, Collection<Booking> batch) {
+        if (itemIds.isEmpty() || batch.isEmpty()) {
+            return new HashMap<>();
+        }
+        LocalDateTime from = batch.stream()
+                .map(Booking::getStart)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        return bookingRepository.findByItemIdInAndStatusAndEndAfter(itemIds, BookingStatus.APPROVED, from).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
+                        HashMap::new, Collectors.<Booking, List<Booking>>toCollection(ArrayList::new)));
+    }
+
+    // То же условие, что в existsByItemIdAndStatusAndStartBeforeAndEndAfter: интервалы [start, end) пересекаются
+    private void checkNoOverlap(Booking booking, List<Booking> approved) {
+        boolean overlaps = approved.stream()
+                .anyMatch(other -> other.getStart().isBefore(booking.getEnd())
+                        && other.getEnd().isAfter(booking.getStart()));
+        if (overlaps) {
+            throw new BookingConflictException(OVERLAP_MESSAGE);
+        }
+    }
+
+    private void checkApprovable(Booking booking, Item item, Long ownerId) {
+        if (!item.getOwnerId().equals(ownerId)) {
+            throw new AccessDeniedException("Только владелец может подтвердить бронирование");
+        }
+        if (booking.getStatus() != BookingStatus.WAITING) {
+            throw new IllegalArgumentException("Можно подтверждать только ожидающие запросы");
+        }
+    }
+
+    private Item lockItemOrThrow(Long itemId) {
+        return itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Вещь не найдена"));
+    }
+
     private Item getItemOrThrow(Long itemId) {
-        return itemRepository.findById(itemId)
+        return itemRepository.findCachedById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Вещь не найдена"));
     }
 
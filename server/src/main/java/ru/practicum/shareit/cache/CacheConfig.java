@@ -0,0 +1,28 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    // @CacheEvict внутри @Transactional срабатывает до коммита, и параллельный запрос успевает вернуть
+    // в кэш старую строку. Прокси откладывает evict, clear и put до коммита текущей транзакции;
+    // вне транзакции они выполняются сразу. Метрики кэшей Spring Boot снимает с исходного CaffeineCache.
+    @Bean
+    public static BeanPostProcessor transactionAwareCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager
+                        && !(bean instanceof TransactionAwareCacheManagerProxy)) {
+                    return new TransactionAwareCacheManagerProxy(cacheManager);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -43,4 +44,17 @@ public class GlobalExceptionHandler {
     public ErrorResponse handleItemRequestNotFound(ItemRequestNotFoundException e) {
         return new ErrorResponse(e.getMessage());
     }
+
+    @ExceptionHandler(BookingConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingConflict(BookingConflictException e) {
+        return new ErrorResponse(e.getMessage());
+    }
+
+    // Параллельное изменение той же записи (@Version)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLocking(OptimisticLockingFailureException e) {
+        return new ErrorResponse("Запись изменена параллельным запросом, повторите попытку");
+    }
 }
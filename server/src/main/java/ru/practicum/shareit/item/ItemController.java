@@ -2,12 +2,18 @@ package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.item.comment.CommentCreateDto;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -28,6 +34,14 @@ public class ItemController {
         return itemService.createItem(itemDto, userId);
     }
 
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("/batch")
+    public List<BatchResult<ItemDto>> createItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<@Valid ItemDto> itemDtos) {
+        return itemService.createItems(itemDtos, userId);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -49,10 +63,38 @@ public class ItemController {
         return itemService.getItemsByOwner(userId);
     }
 
+    @GetMapping(params = "ids")
+    public List<ItemDto> getItemsByIds(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam List<Long> ids) {
+        return itemService.getItemsByIds(ids, userId);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilitySlotDto> getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @GetMapping("/search")
-    public List<ItemDto> searchItems(
-            @RequestParam String text) {
-        return itemService.searchItems(text);
+    public ResponseEntity<List<ItemDto>> searchItems(
+            @RequestParam String text,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor) {
+        CursorPage<ItemDto> page = itemService.searchItems(text, cursor, from, size);
+        return page.toResponseEntity();
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(
+            @PathVariable Long itemId,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
+        return itemService.getComments(itemId, cursor, from, size).toResponseEntity();
     }
 
     @PostMapping("/{itemId}/comment")
@@ -16,6 +16,9 @@ public class ItemMapper {
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
+                // Только что сохранённая вещь ещё не перечитана из БД, счётчик у неё не заполнен
+                .commentCount(item.getCommentCount() != null ? item.getCommentCount() : 0L)
+                .lastCommentAt(item.getLastCommentAt())
                 .build();
     }
 
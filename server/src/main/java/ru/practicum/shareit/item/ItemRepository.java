@@ -1,24 +1,116 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    List<Item> findByOwnerIdOrderById(Long ownerId);
+    String CACHE = "items";
 
-    @Query("SELECT i FROM Item i WHERE i.available = true " +
-            "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
-    List<Item> searchAvailableItems(@Param("text") String text);
+    // :text приходит уже в нижнем регистре и с экранированными % и _ (см. ItemServiceImpl.searchItems)
+    String LIKE_TEXT = " LIKE CONCAT('%', :text, '%') ESCAPE '\\'";
 
-    List<Item> findByRequestId(Long requestId);
+    String NAME_MATCHES = "LOWER(i.name)" + LIKE_TEXT;
 
-    List<Item> findByRequestIdIn(List<Long> requestIds);
+    String SEARCH_CONDITION = "i.available = true " +
+            "AND (" + NAME_MATCHES + " OR LOWER(i.description)" + LIKE_TEXT + ")";
+
+    // 0 — совпадение в названии, 1 — только в описании
+    String SEARCH_RANK = "CASE WHEN " + NAME_MATCHES + " THEN 0 ELSE 1 END";
+
+    // Краткие карточки вещей для ответа на запрос
+    String REQUEST_ITEMS = "SELECT new ru.practicum.shareit.request.dto.ItemRequestDto$ItemRequestItemDto(" +
+            "i.id, i.name, i.ownerId, i.request.id) FROM Item i";
+
+    /**
+     * Чтение через кэш. Для редактирования вещи используется findById, запись сбрасывается в updateItem.
+     */
+    @Cacheable(cacheNames = CACHE, unless = "#result == null")
+    Optional<Item> findCachedById(Long id);
+
+    /**
+     * Блокировка строки вещи до конца транзакции: создание и подтверждение бронирований
+     * одной вещи выполняются по очереди, бронирования других вещей не ждут.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
+    // Строки блокируются в порядке id, чтобы пакеты с пересекающимися вещами не взаимоблокировались
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<Item> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Вещи владельца сразу в DTO — без управляемых сущностей и снимков для dirty checking.
+     * Бронирования дозаполняет сервис, по отзывам отдаётся только сводка из самой вещи.
+     */
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id, " +
+            "i.commentCount, i.lastCommentAt) " +
+            "FROM Item i LEFT JOIN i.request r WHERE i.ownerId = :ownerId ORDER BY i.id")
+    List<ItemDto> findItemDtosByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Учитывает новый отзыв в сводке вещи одним UPDATE: счётчик увеличивается в БД,
+     * поэтому параллельные отзывы к одной вещи не теряются.
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.commentCount = i.commentCount + 1, " +
+            "i.lastCommentAt = CASE WHEN i.lastCommentAt IS NULL OR i.lastCommentAt < :created " +
+            "THEN :created ELSE i.lastCommentAt END " +
+            "WHERE i.id = :itemId")
+    int addCommentStats(@Param("itemId") Long itemId, @Param("created") LocalDateTime created);
+
+    /**
+     * Пересчитывает сводку по таблице comments — после того как отзывы удалены каскадно вместе с автором.
+     */
+    @Modifying
+    @Query("UPDATE Item i SET " +
+            "i.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.item.id = i.id), " +
+            "i.lastCommentAt = (SELECT MAX(c.created) FROM Comment c WHERE c.item.id = i.id) " +
+            "WHERE i.id IN :itemIds")
+    int recountCommentStats(@Param("itemIds") Collection<Long> itemIds);
+
+    /**
+     * Поиск доступных вещей по подстроке в названии или описании.
+     * Совпадения по названию идут первыми, внутри группы — по id.
+     * На PostgreSQL условия LIKE обслуживаются триграммными GIN-индексами (db/migration/postgresql).
+     */
+    @Query("SELECT i FROM Item i WHERE " + SEARCH_CONDITION +
+            " ORDER BY " + SEARCH_RANK + ", i.id")
+    List<Item> searchAvailableItems(@Param("text") String text, Pageable pageable);
+
+    /**
+     * Следующая страница поиска после позиции (rank, id) — keyset вместо OFFSET.
+     */
+    @Query("SELECT i FROM Item i WHERE " + SEARCH_CONDITION +
+            " AND (" + SEARCH_RANK + " > :rank OR (" + SEARCH_RANK + " = :rank AND i.id > :id))" +
+            " ORDER BY " + SEARCH_RANK + ", i.id")
+    List<Item> searchAvailableItemsAfter(@Param("text") String text,
+                                         @Param("rank") int rank,
+                                         @Param("id") long id,
+                                         Pageable pageable);
+
+    @Query(REQUEST_ITEMS + " WHERE i.request.id = :requestId")
+    List<ItemRequestDto.ItemRequestItemDto> findRequestItemsByRequestId(@Param("requestId") Long requestId);
+
+    @Query(REQUEST_ITEMS + " WHERE i.request.id IN :requestIds")
+    List<ItemRequestDto.ItemRequestItemDto> findRequestItemsByRequestIdIn(
+            @Param("requestIds") Collection<Long> requestIds);
 }
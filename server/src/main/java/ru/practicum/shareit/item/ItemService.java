@@ -1,20 +1,32 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemDto createItem(ItemDto itemDto, Long userId);
 
+    List<BatchResult<ItemDto>> createItems(List<ItemDto> itemDtos, Long userId);
+
     ItemDto updateItem(Long itemId, ItemDto itemDto, Long userId);
 
     ItemDto getItemById(Long itemId, Long userId);
 
     List<ItemDto> getItemsByOwner(Long userId);
 
-    List<ItemDto> searchItems(String text);
+    List<ItemDto> getItemsByIds(List<Long> itemIds, Long userId);
+
+    List<AvailabilitySlotDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    CursorPage<ItemDto> searchItems(String text, String cursor, int from, int size);
 
     CommentDto addComment(Long itemId, Long userId, String text);
+
+    CursorPage<CommentDto> getComments(Long itemId, String cursor, int from, int size);
 }
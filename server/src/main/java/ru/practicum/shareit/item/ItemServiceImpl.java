@@ -1,8 +1,15 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.exception.AccessDeniedException;
@@ -11,16 +18,20 @@ import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentCreateDto;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.metrics.ServiceMetrics;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserDto;
 import ru.practicum.shareit.user.UserRepository;
-import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.UserExistenceValidator;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -28,16 +39,26 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(ServiceMetrics.SERVICE_TIMER)
 public class ItemServiceImpl implements ItemService {
 
+    private static final int AVAILABILITY_DEFAULT_DAYS = 30;
+    private static final int AVAILABILITY_MAX_DAYS = 365;
+    // Карточка вещи показывает только свежие отзывы, остальные — через getComments
+    private static final int ITEM_VIEW_COMMENTS = 10;
+    // Тот же предел, что в gateway: сервер не должен принимать неограниченный пакет в одну транзакцию
+    static final int MAX_CREATE_BATCH_SIZE = 500;
+
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
-    private final UserService userService;
     private final UserRepository userRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
     private final ItemRequestRepository itemRequestRepository;
+    private final UserExistenceValidator userValidator;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final MeterRegistry meterRegistry;
 
     public Item getItemEntityById(Long itemId) {
         return itemRepository.findById(itemId)
@@ -46,14 +67,12 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemDto createItem(ItemDto itemDto, Long userId) {
-        UserDto userDto = userService.getUserById(userId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Пользователь с ID=" + userId + " не найден"));
+        userValidator.requireExists(userId);
 
-        Item item = itemMapper.toItem(itemDto, user.getId());
+        Item item = itemMapper.toItem(itemDto, userId);
 
         if (itemDto.getRequestId() != null) {
-            ItemRequest request = itemRequestRepository.findById(itemDto.getRequestId())
+            ItemRequest request = itemRequestRepository.findCachedById(itemDto.getRequestId())
                     .orElseThrow(() -> new ItemNotFoundException("Запрос с id " + itemDto.getRequestId() + " не найден"));
             item.setRequest(request);
         }
@@ -62,7 +81,55 @@ public class ItemServiceImpl implements ItemService {
         return itemMapper.toItemDto(savedItem);
     }
 
+    // Владелец проверяется один раз, запросы вещей загружаются одним запросом, вещи сохраняются одним saveAll.
+    // Строка со ссылкой на несуществующий запрос получает 404, остальные строки всё равно создаются.
     @Override
+    @Transactional
+    public List<BatchResult<ItemDto>> createItems(List<ItemDto> itemDtos, Long userId) {
+        if (itemDtos.size() > MAX_CREATE_BATCH_SIZE) {
+            throw new IllegalArgumentException("Пакет не может содержать больше " + MAX_CREATE_BATCH_SIZE + " вещей");
+        }
+        userValidator.requireExists(userId);
+
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty()
+                ? Map.of()
+                : itemRequestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, request -> request));
+
+        List<BatchResult<ItemDto>> results = new ArrayList<>(Collections.nCopies(itemDtos.size(), null));
+        List<Item> toSave = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            Item item = itemMapper.toItem(itemDto, userId);
+            item.setId(null); // пакет только создаёт вещи, id из тела не должен превратить save в merge
+            if (itemDto.getRequestId() != null) {
+                ItemRequest request = requests.get(itemDto.getRequestId());
+                if (request == null) {
+                    results.set(i, BatchResult.failed(null, HttpStatus.NOT_FOUND,
+                            "Запрос с id " + itemDto.getRequestId() + " не найден"));
+                    continue;
+                }
+                item.setRequest(request);
+            }
+            toSave.add(item);
+            positions.add(i);
+        }
+
+        List<Item> saved = itemRepository.saveAll(toSave);
+        for (int i = 0; i < saved.size(); i++) {
+            Item item = saved.get(i);
+            results.set(positions.get(i), BatchResult.ok(item.getId(), HttpStatus.CREATED, itemMapper.toItemDto(item)));
+        }
+        return results;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = ItemRepository.CACHE, key = "#itemId")
     public ItemDto updateItem(Long itemId, ItemDto itemDto, Long userId) {
         Item existingItem = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Предмет с таким id(" + itemId + ") не найден"));
@@ -86,8 +153,9 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto getItemById(Long itemId, Long userId) {
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findCachedById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Предмет с таким id(" + itemId + ") не найден"));
 
         ItemDto dto = itemMapper.toItemDto(item);
@@ -95,89 +163,89 @@ public class ItemServiceImpl implements ItemService {
         if (item.getOwnerId().equals(userId)) {
             LocalDateTime now = LocalDateTime.now();
 
-            List<Booking> bookings = bookingRepository.findByItemIdAndStatusNotOrderByStartAsc(
-                    item.getId(), BookingStatus.WAITING);
-
-            Booking last = bookings.stream()
-                    .filter(b -> b.getEnd().isBefore(now))
-                    .max(Comparator.comparing(Booking::getEnd))
-                    .orElse(null);
-
-            Booking next = bookings.stream()
-                    .filter(b -> b.getStart().isAfter(now))
-                    .min(Comparator.comparing(Booking::getStart))
-                    .orElse(null);
-
-            dto.setLastBooking(last != null ? mapToBookingShort(last) : null);
-            dto.setNextBooking(next != null ? mapToBookingShort(next) : null);
+            dto.setLastBooking(bookingRepository.findFirstByItemIdAndStatusNotAndEndBeforeOrderByEndDesc(
+                            item.getId(), BookingStatus.WAITING, now)
+                    .map(this::mapToBookingShort)
+                    .orElse(null));
+            dto.setNextBooking(bookingRepository.findFirstByItemIdAndStatusNotAndStartAfterOrderByStartAsc(
+                            item.getId(), BookingStatus.WAITING, now)
+                    .map(this::mapToBookingShort)
+                    .orElse(null));
         }
 
-        List<CommentDto> comments = commentRepository.findByItemId(itemId).stream()
-                .map(commentMapper::mapCommentToResponse)
-                .collect(Collectors.toList());
-        dto.setComments(comments);
+        dto.setComments(commentRepository.findDtosByItemId(itemId, OffsetPageRequest.of(0, ITEM_VIEW_COMMENTS)));
 
         return dto;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getItemsByOwner(Long userId) {
-        userService.getUserById(userId);
-        List<Item> items = itemRepository.findByOwnerIdOrderById(userId);
-        if (items.isEmpty()) return List.of();
+        userValidator.requireExists(userId);
+        List<ItemDto> dtos = itemRepository.findItemDtosByOwnerId(userId);
+        meterRegistry.summary(ServiceMetrics.RESULT_SIZE, "method", "getItemsByOwner").record(dtos.size());
+        if (dtos.isEmpty()) return List.of();
 
-        List<ItemDto> dtos = items.stream()
+        Set<Long> itemIds = dtos.stream().map(ItemDto::getId).collect(Collectors.toSet());
+        fillBookings(dtos, itemIds);
+        return dtos;
+    }
+
+    // Порядок ответа совпадает с порядком ids, несуществующие id пропускаются.
+    // Последнее и следующее бронирование видит только владелец вещи, как в getItemById.
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDto> getItemsByIds(List<Long> itemIds, Long userId) {
+        Map<Long, Item> itemsById = itemRepository.findAllById(new LinkedHashSet<>(itemIds)).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        if (itemsById.isEmpty()) return List.of();
+
+        List<ItemDto> dtos = itemIds.stream()
+                .distinct()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
                 .map(itemMapper::toItemDto)
                 .collect(Collectors.toList());
+        Set<Long> ownedIds = itemsById.values().stream()
+                .filter(item -> item.getOwnerId().equals(userId))
+                .map(Item::getId)
+                .collect(Collectors.toSet());
 
-        LocalDateTime now = LocalDateTime.now();
-        Set<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toSet());
-
-        List<Booking> bookings = bookingRepository.findByItemIdInAndStatusNotOrderByStartAsc(
-                new ArrayList<>(itemIds), BookingStatus.WAITING);
-
-        Map<Long, List<Booking>> bookingsMap = bookings.stream()
-                .collect(Collectors.groupingBy(b -> b.getItem().getId()));
+        fillBookings(dtos, ownedIds);
+        meterRegistry.summary(ServiceMetrics.RESULT_SIZE, "method", "getItemsByIds").record(dtos.size());
+        return dtos;
+    }
 
-        List<Comment> allComments = commentRepository.findByItemIdIn(new ArrayList<>(itemIds));
+    // Бронирования подгружаются только для ownedIds, по одному запросу на последнее и следующее.
+    // Отзывы в списках не читаются: достаточно сводки commentCount/lastCommentAt из самой вещи
+    private void fillBookings(List<ItemDto> dtos, Set<Long> ownedIds) {
+        if (ownedIds.isEmpty()) return;
 
-        Map<Long, List<CommentDto>> commentsMap = allComments.stream()
-                .collect(Collectors.groupingBy(
-                        comment -> comment.getItem().getId(),
-                        Collectors.mapping(commentMapper::mapCommentToResponse, Collectors.toList())
-                ));
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemDto.BookingShort> lastBookings = toBookingShortByItem(
+                bookingRepository.findLastBookings(ownedIds, BookingStatus.WAITING, now));
+        Map<Long, ItemDto.BookingShort> nextBookings = toBookingShortByItem(
+                bookingRepository.findNextBookings(ownedIds, BookingStatus.WAITING, now));
 
         for (ItemDto dto : dtos) {
-            List<Booking> itemBookings = bookingsMap.getOrDefault(dto.getId(), Collections.emptyList());
-
-            Booking last = itemBookings.stream()
-                    .filter(b -> b.getEnd().isBefore(now))
-                    .max(Comparator.comparing(Booking::getEnd))
-                    .orElse(null);
-
-            Booking next = itemBookings.stream()
-                    .filter(b -> b.getStart().isAfter(now))
-                    .min(Comparator.comparing(Booking::getStart))
-                    .orElse(null);
-
-            dto.setLastBooking(last != null ? mapToBookingShort(last) : null);
-            dto.setNextBooking(next != null ? mapToBookingShort(next) : null);
-            dto.setComments(commentsMap.getOrDefault(dto.getId(), Collections.emptyList()));
+            dto.setLastBooking(lastBookings.get(dto.getId()));
+            dto.setNextBooking(nextBookings.get(dto.getId()));
         }
-
-        return dtos;
     }
 
+    // Сводка по отзывам хранится в самой вещи, поэтому кэшированная копия сбрасывается
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = ItemRepository.CACHE, key = "#itemId")
     public CommentDto addComment(Long itemId, Long userId, String text) {
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findCachedById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Предмет с таким id(" + itemId + ") не найден"));
 
-        User author = userRepository.findById(userId)
+        User author = userRepository.findCachedById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь с ID=" + userId + " не найден"));
 
-        boolean hasBooking = bookingRepository.existsByBookerIdAndItemIdAndEndBefore(
-                userId, itemId, LocalDateTime.now());
+        boolean hasBooking = bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                userId, itemId, BookingStatus.APPROVED, LocalDateTime.now());
 
         if (!hasBooking) {
             throw new IllegalArgumentException("Комментировать может только пользователь, который брал вещь в аренду");
@@ -190,15 +258,93 @@ public class ItemServiceImpl implements ItemService {
         // Используем маппер
         Comment comment = commentMapper.mapNewCommentToComment(dto, author, item, LocalDateTime.now());
         Comment saved = commentRepository.save(comment);
+        itemRepository.addCommentStats(itemId, saved.getCreated());
 
         return commentMapper.mapCommentToResponse(saved);
     }
 
     @Override
-    public List<ItemDto> searchItems(String text) {
-        if (text == null || text.isBlank()) return List.of();
-        List<Item> found = itemRepository.searchAvailableItems(text.toLowerCase());
-        return found.stream().map(itemMapper::toItemDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> getComments(Long itemId, String cursor, int from, int size) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new ItemNotFoundException("Предмет с таким id(" + itemId + ") не найден");
+        }
+
+        List<CommentDto> comments;
+        if (cursor != null) {
+            PageCursor before = PageCursor.decode(cursor);
+            comments = commentRepository.findDtosByItemIdBefore(
+                    itemId, before.dateTimeKey(), before.getId(), OffsetPageRequest.of(0, size));
+        } else {
+            comments = commentRepository.findDtosByItemId(itemId, OffsetPageRequest.of(from, size));
+        }
+
+        meterRegistry.summary(ServiceMetrics.RESULT_SIZE, "method", "getComments").record(comments.size());
+        if (comments.size() < size) {
+            return new CursorPage<>(comments, null);
+        }
+        CommentDto last = comments.get(comments.size() - 1);
+        return new CursorPage<>(comments, PageCursor.of(last.getCreated(), last.getId()).encode());
+    }
+
+    // Окно по умолчанию — ближайшие 30 дней; больше года за раз не отдаём
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailabilitySlotDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        itemRepository.findCachedById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Предмет с таким id(" + itemId + ") не найден"));
+
+        LocalDateTime windowStart = from != null ? from : LocalDateTime.now();
+        LocalDateTime windowEnd = to != null ? to : windowStart.plusDays(AVAILABILITY_DEFAULT_DAYS);
+        if (!windowEnd.isAfter(windowStart)) {
+            throw new IllegalArgumentException("Конец периода должен быть позже начала");
+        }
+        if (windowEnd.isAfter(windowStart.plusDays(AVAILABILITY_MAX_DAYS))) {
+            throw new IllegalArgumentException("Период не может быть длиннее " + AVAILABILITY_MAX_DAYS + " дней");
+        }
+        return bookingIntervalIndex.freeSlots(itemId, windowStart, windowEnd);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemDto> searchItems(String text, String cursor, int from, int size) {
+        if (text == null || text.isBlank()) return CursorPage.empty();
+        // Регистр приводится без учёта локали, иначе ранг курсора в searchRank разойдётся с SQL
+        String query = text.toLowerCase(Locale.ROOT);
+        String pattern = escapeLike(query);
+
+        List<Item> found;
+        if (cursor != null) {
+            PageCursor after = PageCursor.decode(cursor);
+            found = itemRepository.searchAvailableItemsAfter(
+                    pattern, (int) after.longKey(), after.getId(), OffsetPageRequest.of(0, size));
+        } else {
+            found = itemRepository.searchAvailableItems(pattern, OffsetPageRequest.of(from, size));
+        }
+
+        List<ItemDto> dtos = found.stream().map(itemMapper::toItemDto).collect(Collectors.toList());
+        meterRegistry.summary(ServiceMetrics.RESULT_SIZE, "method", "searchItems").record(dtos.size());
+        if (found.size() < size) {
+            return new CursorPage<>(dtos, null);
+        }
+        Item last = found.get(found.size() - 1);
+        return new CursorPage<>(dtos, PageCursor.of(searchRank(last, query), last.getId()).encode());
+    }
+
+    // Должен совпадать с ItemRepository.SEARCH_RANK: подстрока без шаблонов, те же правила регистра
+    private long searchRank(Item item, String query) {
+        return item.getName().toLowerCase(Locale.ROOT).contains(query) ? 0 : 1;
+    }
+
+    // % и _ в тексте поиска — обычные символы, а не шаблоны LIKE
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // При совпадении времени у нескольких бронирований одной вещи берём первое
+    private Map<Long, ItemDto.BookingShort> toBookingShortByItem(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), this::mapToBookingShort, (a, b) -> a));
     }
 
     private ItemDto.BookingShort mapToBookingShort(Booking b) {
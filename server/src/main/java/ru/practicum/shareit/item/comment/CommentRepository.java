@@ -1,13 +1,38 @@
 package ru.practicum.shareit.item.comment;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Комментарии читаются сразу в DTO: имя автора приходит соединением с users,
+ * без ленивой загрузки автора на каждый комментарий.
+ */
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByItemIdIn(List<Long> itemIds);
+    String NEWEST_FIRST = " ORDER BY c.created DESC, c.id DESC";
 
-    List<Comment> findByItemId(Long itemId);
+    String COMMENT_DTO = "SELECT new ru.practicum.shareit.item.comment.CommentDto(" +
+            "c.id, c.text, a.name, c.created) FROM Comment c JOIN c.author a";
+
+    @Query(COMMENT_DTO + " WHERE c.item.id = :itemId" + NEWEST_FIRST)
+    List<CommentDto> findDtosByItemId(@Param("itemId") Long itemId, Pageable pageable);
+
+    /**
+     * Следующая страница комментариев после позиции (created, id) — keyset вместо OFFSET.
+     */
+    @Query(COMMENT_DTO + " WHERE c.item.id = :itemId" +
+            " AND (c.created < :created OR (c.created = :created AND c.id < :id))" + NEWEST_FIRST)
+    List<CommentDto> findDtosByItemIdBefore(@Param("itemId") Long itemId,
+                                            @Param("created") LocalDateTime created,
+                                            @Param("id") long id,
+                                            Pageable pageable);
+
+    @Query("SELECT DISTINCT c.item.id FROM Comment c WHERE c.author.id = :authorId")
+    List<Long> findItemIdsByAuthorId(@Param("authorId") Long authorId);
 }
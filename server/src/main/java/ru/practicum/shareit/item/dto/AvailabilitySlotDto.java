@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Свободный промежуток [start, end) без подтверждённых бронирований.
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilitySlotDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -29,6 +29,20 @@ public class ItemDto {
     private BookingShort lastBooking;
     private BookingShort nextBooking;
     private List<CommentDto> comments;
+    private Long commentCount;
+    private LocalDateTime lastCommentAt;
+
+    // Для JPQL-проекции в ItemRepository: поля самой вещи, остальное заполняет сервис
+    public ItemDto(Long id, String name, String description, Boolean available, Long requestId,
+                   Long commentCount, LocalDateTime lastCommentAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.requestId = requestId;
+        this.commentCount = commentCount;
+        this.lastCommentAt = lastCommentAt;
+    }
 
     @Getter
     @Setter
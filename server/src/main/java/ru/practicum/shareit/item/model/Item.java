@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.*;
 import ru.practicum.shareit.request.ItemRequest;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @ToString
@@ -14,7 +16,8 @@ import ru.practicum.shareit.request.ItemRequest;
 @Table(name = "items")
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -32,4 +35,12 @@ public class Item {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private ItemRequest request;
+
+    // Сводка по отзывам: меняется только запросом ItemRepository.addCommentStats,
+    // поэтому save() устаревшей (например, кэшированной) копии её не перетирает
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    private Long commentCount;
+
+    @Column(name = "last_comment_at", insertable = false, updatable = false)
+    private LocalDateTime lastCommentAt;
 }
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.common.annotation.ValueExpressionResolver;
+import io.micrometer.common.annotation.ValueResolver;
+import io.micrometer.core.aop.MeterTagAnnotationHandler;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // @MeterTag без resolver и expression берёт значение параметра как есть (state бронирований)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        ValueResolver asString = String::valueOf;
+        ValueExpressionResolver expressionAsString = (expression, parameter) -> String.valueOf(parameter);
+
+        TimedAspect timedAspect = new TimedAspect(registry);
+        timedAspect.setMeterTagAnnotationHandler(
+                new MeterTagAnnotationHandler(type -> asString, type -> expressionAsString));
+        return timedAspect;
+    }
+}
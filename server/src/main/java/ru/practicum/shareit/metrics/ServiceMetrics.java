@@ -0,0 +1,21 @@
+package ru.practicum.shareit.metrics;
+
+/**
+ * Имена метрик сервисного слоя.
+ * Латентность методов снимает TimedAspect по аннотациям @Timed, размеры выдачи сервисы пишут
+ * во внедрённый MeterRegistry. Гистограммы и перцентили для всех метрик с префиксом shareit.
+ * включаются в application.properties.
+ */
+public final class ServiceMetrics {
+    // Все публичные методы сервисов, теги class и method
+    public static final String SERVICE_TIMER = "shareit.service";
+    // Списки бронирований: отдельное имя, потому что у них есть тег state, а у Prometheus набор тегов
+    // одной метрики должен совпадать
+    public static final String BOOKING_LIST_TIMER = "shareit.booking.list";
+
+    public static final String RESULT_SIZE = "shareit.service.result.size";
+    public static final String BOOKING_LIST_SIZE = "shareit.booking.list.size";
+
+    private ServiceMetrics() {
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Страница со смещением from, которое не обязано быть кратным size
+ * (PageRequest.of(from / size, size) в таком случае сдвигает выборку).
+ */
+public class OffsetPageRequest extends PageRequest {
+    private final long offset;
+
+    protected OffsetPageRequest(long offset, int size, Sort sort) {
+        super((int) (offset / size), size, sort);
+        this.offset = offset;
+    }
+
+    public static OffsetPageRequest of(int from, int size) {
+        return of(from, size, Sort.unsorted());
+    }
+
+    public static OffsetPageRequest of(int from, int size, Sort sort) {
+        if (from < 0) {
+            throw new IllegalArgumentException("Параметр from не может быть отрицательным");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Параметр size должен быть положительным");
+        }
+        return new OffsetPageRequest(from, size, sort);
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OffsetPageRequest that)) return false;
+        return super.equals(o) && offset == that.offset;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Long.hashCode(offset);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Непрозрачный курсор для keyset-пагинации: ключ сортировки последней записи страницы и её id.
+ * Клиент получает его в заголовке X-Next-Cursor и передаёт обратно в параметре cursor.
+ */
+@Getter
+public final class PageCursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final char SEPARATOR = '|';
+
+    private final String key;
+    private final long id;
+
+    private PageCursor(String key, long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static PageCursor of(long key, long id) {
+        return new PageCursor(String.valueOf(key), id);
+    }
+
+    public static PageCursor of(LocalDateTime key, long id) {
+        return new PageCursor(key.toString(), id);
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException(token);
+            }
+            return new PageCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw invalid(token);
+        }
+    }
+
+    public String encode() {
+        byte[] raw = (key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public long longKey() {
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw invalid(encode());
+        }
+    }
+
+    public LocalDateTime dateTimeKey() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw invalid(encode());
+        }
+    }
+
+    private static IllegalArgumentException invalid(String token) {
+        return new IllegalArgumentException("Некорректный курсор: " + token);
+    }
+}
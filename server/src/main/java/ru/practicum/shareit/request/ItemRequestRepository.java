@@ -1,13 +1,21 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    String CACHE = "itemRequests";
+
+    // Запросы не редактируются, из кэша они уходят по TTL или при удалении автора
+    @Cacheable(cacheNames = CACHE, unless = "#result == null")
+    Optional<ItemRequest> findCachedById(Long id);
+
     List<ItemRequest> findByRequester_IdOrderByIdDesc(Long requesterId);
 
     List<ItemRequest> findByRequester_IdNot(Long requesterId, Pageable pageable);
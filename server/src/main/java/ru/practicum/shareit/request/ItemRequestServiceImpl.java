@@ -1,15 +1,18 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.UserNotFoundException;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.metrics.ServiceMetrics;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestIncomingDto;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceValidator;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -17,47 +20,60 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(ServiceMetrics.SERVICE_TIMER)
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository requestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserExistenceValidator userValidator;
+    private final MeterRegistry meterRegistry;
 
     public ItemRequestServiceImpl(ItemRequestRepository requestRepository,
                                   UserRepository userRepository,
-                                  ItemRepository itemRepository) {
+                                  ItemRepository itemRepository,
+                                  UserExistenceValidator userValidator,
+                                  MeterRegistry meterRegistry) {
         this.requestRepository = requestRepository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.userValidator = userValidator;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public ItemRequestDto createRequest(Long userId, ItemRequestIncomingDto requestDto) {
-        User user = getUserOrThrow(userId);
+        userValidator.requireExists(userId);
         ItemRequest request = ItemRequestMapper.toEntity(requestDto);
-        request.setRequester(user);
+        // Для внешнего ключа достаточно ссылки — строку пользователя не читаем
+        request.setRequester(userRepository.getReferenceById(userId));
         request.setCreated(LocalDateTime.now());
         ItemRequest saved = requestRepository.save(request);
         return ItemRequestMapper.toDto(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getOwnRequests(Long userId) {
-        getUserOrThrow(userId);
+        userValidator.requireExists(userId);
         List<ItemRequest> requests = requestRepository.findByRequester_IdOrderByIdDesc(userId);
+        meterRegistry.summary(ServiceMetrics.RESULT_SIZE, "method", "getOwnRequests").record(requests.size());
         return mapToDtoWithItems(requests);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllRequests(Long userId, Integer from, Integer size) {
-        getUserOrThrow(userId);
+        userValidator.requireExists(userId);
         Pageable pageable = PageRequest.of(from / size, size, Sort.by("created").descending());
         List<ItemRequest> requests = requestRepository.findByRequester_IdNot(userId, pageable);
+        meterRegistry.summary(ServiceMetrics.RESULT_SIZE, "method", "getAllRequests").record(requests.size());
         return mapToDtoWithItems(requests);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto getRequestById(Long userId, Long requestId) {
-        getUserOrThrow(userId);
+        userValidator.requireExists(userId);
         ItemRequest request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new UserNotFoundException("Запрос не найден"));
         ItemRequestDto dto = ItemRequestMapper.toDto(request);
@@ -65,11 +81,6 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return dto;
     }
 
-    private User getUserOrThrow(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Пользователь с ID=" + userId + " не найден"));
-    }
-
     private List<ItemRequestDto> mapToDtoWithItems(List<ItemRequest> requests) {
         if (requests.isEmpty()) return List.of();
         List<Long> requestIds = requests.stream().map(ItemRequest::getId).collect(Collectors.toList());
@@ -82,26 +93,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private Map<Long, List<ItemRequestDto.ItemRequestItemDto>> getItemsByRequestId(List<Long> requestIds) {
-        List<Item> items = itemRepository.findByRequestIdIn(requestIds);
-        return items.stream()
-                .map(item -> ItemRequestDto.ItemRequestItemDto.builder()
-                        .id(item.getId())
-                        .name(item.getName())
-                        .ownerId(item.getOwnerId())
-                        .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
-                        .build())
+        return itemRepository.findRequestItemsByRequestIdIn(requestIds).stream()
                 .collect(Collectors.groupingBy(ItemRequestDto.ItemRequestItemDto::getRequestId));
     }
 
     private List<ItemRequestDto.ItemRequestItemDto> getItemsForRequest(Long requestId) {
-        return itemRepository.findByRequestId(requestId).stream()
-                .map(item -> ItemRequestDto.ItemRequestItemDto.builder()
-                        .id(item.getId())
-                        .name(item.getName())
-                        .ownerId(item.getOwnerId())
-                        .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
-                        .build())
-                .collect(Collectors.toList());
+        return itemRepository.findRequestItemsByRequestId(requestId);
     }
 }
 
@@ -38,6 +38,11 @@ public class UserController {
         return userService.getAllUsers();
     }
 
+    @GetMapping(params = "ids")
+    public List<UserDto> getUsersByIds(@RequestParam List<Long> ids) {
+        return userService.getUsersByIds(ids);
+    }
+
     @DeleteMapping("/{userId}")
     public void deleteUser(@PathVariable Long userId) {
         userService.deleteUser(userId);
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.UserNotFoundException;
+
+/**
+ * Проверка существования пользователя там, где сама сущность не нужна.
+ * Положительные ответы кэшируются (UserRepository.EXISTS_CACHE), так что повторная проверка не идёт в БД.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserExistenceValidator {
+
+    private final UserRepository userRepository;
+
+    public void requireExists(Long userId) {
+        if (userId == null || !userRepository.existsCachedById(userId)) {
+            throw new UserNotFoundException("Пользователь с ID=" + userId + " не найден");
+        }
+    }
+}
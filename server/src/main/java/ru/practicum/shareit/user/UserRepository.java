@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -7,6 +8,21 @@ import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    String CACHE = "users";
+
+    String EXISTS_CACHE = "userExists";
+
+    /**
+     * Чтение через кэш для проверок и ссылок на пользователя. Изменять полученную сущность нельзя:
+     * для обновления используется findById, а запись из кэша сбрасывается в UserServiceImpl.
+     */
+    @Cacheable(cacheNames = CACHE, unless = "#result == null")
+    Optional<User> findCachedById(Long id);
+
+    // Кэшируется только true: отсутствующий пользователь может появиться позже
+    @Cacheable(cacheNames = EXISTS_CACHE, unless = "!#result")
+    boolean existsCachedById(Long id);
+
     boolean existsByEmail(String email);
 
     Optional<User> findByEmail(String email);
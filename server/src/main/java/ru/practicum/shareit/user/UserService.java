@@ -11,5 +11,7 @@ public interface UserService {
 
     List<UserDto> getAllUsers();
 
+    List<UserDto> getUsersByIds(List<Long> userIds);
+
     void deleteUser(Long userId);
 }
@@ -1,19 +1,37 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.metrics.ServiceMetrics;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.DuplicateEmailException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(ServiceMetrics.SERVICE_TIMER)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final CommentRepository commentRepository;
+    private final ItemRepository itemRepository;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public UserDto createUser(UserDto userDto) {
@@ -31,6 +49,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = UserRepository.CACHE, key = "#userId")
     public UserDto updateUser(Long userId, UserDto userDto) {
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь с ID=" + userId + " не найден"));
@@ -51,24 +70,55 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto getUserById(Long userId) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findCachedById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Пользователь с ID=" + userId + " не найден"));
         return userMapper.toUserDto(user);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
+        List<UserDto> users = userRepository.findAll().stream()
                 .map(userMapper::toUserDto)
                 .collect(Collectors.toList());
+        meterRegistry.summary(ServiceMetrics.RESULT_SIZE, "method", "getAllUsers").record(users.size());
+        return users;
     }
 
+    // Порядок ответа совпадает с порядком ids, несуществующие id пропускаются
     @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsersByIds(List<Long> userIds) {
+        Map<Long, User> usersById = userRepository.findAllById(new LinkedHashSet<>(userIds)).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        return userIds.stream()
+                .distinct()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .map(userMapper::toUserDto)
+                .collect(Collectors.toList());
+    }
+
+    // Вещи, запросы и бронирования пользователя удаляются каскадно в БД, поэтому их кэши сбрасываются целиком.
+    // Вместе с автором каскадно исчезают и его отзывы к чужим вещам — сводка по ним пересчитывается
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {UserRepository.CACHE, UserRepository.EXISTS_CACHE}, key = "#userId"),
+            @CacheEvict(cacheNames = {ItemRepository.CACHE, ItemRequestRepository.CACHE}, allEntries = true)
+    })
     public void deleteUser(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException("Пользователь с ID=" + userId + " не найден");
         }
+        List<Long> commentedItemIds = commentRepository.findItemIdsByAuthorId(userId);
         userRepository.deleteById(userId);
+        if (!commentedItemIds.isEmpty()) {
+            userRepository.flush();
+            itemRepository.recountCommentStats(commentedItemIds);
+        }
+        bookingIntervalIndex.invalidateAllAfterCommit();
     }
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.web;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Проставляет ETag (хеш тела) на успешные GET-ответы и отвечает 304 без тела,
+ * если If-None-Match совпал. Gateway ревалидирует по нему свой кеш ответов.
+ */
+@Component
+public class EtagFilter extends ShallowEtagHeaderFilter {
+}
@@ -0,0 +1,4 @@
+-- Право на отзыв: booker_id = ? AND item_id = ? AND status = 'APPROVED' AND end_date < ?.
+-- С равенствами по первым трём колонкам и диапазоном по последней проверка — одна проба индекса,
+-- а не просмотр всех бронирований пользователя по idx_bookings_booker_start.
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_status_end ON bookings (booker_id, item_id, status, end_date);
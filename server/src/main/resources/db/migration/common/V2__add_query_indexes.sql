@@ -0,0 +1,20 @@
+-- Индексы под основные выборки репозиториев.
+-- PostgreSQL не создаёт индексы для внешних ключей сам, поэтому без них каждый finder — полный просмотр таблицы.
+
+-- Списки бронирований пользователя: booker_id = ? ORDER BY start_date DESC, id DESC (в т.ч. keyset по курсору)
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date, id);
+
+-- Бронирования вещи (последнее/следующее), а также списки владельца через соединение с items
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date, id);
+
+-- Вещи владельца: owner_id = ? ORDER BY id
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+
+-- Вещи, созданные в ответ на запросы
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+-- Комментарии к вещам
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+-- Запросы пользователя, от новых к старым
+CREATE INDEX IF NOT EXISTS idx_item_requests_requester_created ON item_requests (requester_id, created);
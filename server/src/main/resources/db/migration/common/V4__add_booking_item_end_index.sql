@@ -0,0 +1,2 @@
+-- Последнее завершённое бронирование вещи: item_id = ? AND end_date < ? ORDER BY end_date DESC
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date);
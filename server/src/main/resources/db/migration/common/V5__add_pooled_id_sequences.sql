@@ -0,0 +1,8 @@
+-- Последовательности для id с шагом 50: Hibernate (pooled-оптимизатор) берёт из БД сразу
+-- блок из 50 id, поэтому вставки не сбрасываются по одной и собираются в JDBC-пакеты.
+-- Шаг должен совпадать с allocationSize в @SequenceGenerator сущностей.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS item_requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
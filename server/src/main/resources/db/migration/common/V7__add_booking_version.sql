@@ -0,0 +1,3 @@
+-- Оптимистическая блокировка бронирования: два параллельных подтверждения одной брони
+-- не перезапишут друг друга, второе получит 409
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Комментарии вещи от новых к старым: item_id = ? ORDER BY created DESC, id DESC (в т.ч. keyset по курсору).
+-- Новый индекс покрывает и выборки по одному item_id, поэтому прежний idx_comments_item не нужен.
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created, id);
+
+DROP INDEX IF EXISTS idx_comments_item;
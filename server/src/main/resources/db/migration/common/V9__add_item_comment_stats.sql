@@ -0,0 +1,8 @@
+-- Сводка по отзывам прямо в строке вещи: списки и поиск показывают её, не читая таблицу comments.
+-- Поддерживается приложением при добавлении отзыва и при каскадном удалении отзывов вместе с автором.
+ALTER TABLE items ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_comment_at TIMESTAMP WITHOUT TIME ZONE;
+
+UPDATE items i SET
+    comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = i.id),
+    last_comment_at = (SELECT MAX(c.created) FROM comments c WHERE c.item_id = i.id);
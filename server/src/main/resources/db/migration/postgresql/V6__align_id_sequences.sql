@@ -0,0 +1,7 @@
+-- Сдвигаем последовательности за уже выданные IDENTITY-значения.
+-- Pooled-оптимизатор выдаёт id из (nextval - 50, nextval], поэтому следующий nextval = max(id) + 50.
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+SELECT setval('item_requests_seq', COALESCE((SELECT MAX(id) FROM item_requests), 0) + 50, false);
+SELECT setval('items_seq', COALESCE((SELECT MAX(id) FROM items), 0) + 50, false);
+SELECT setval('bookings_seq', COALESCE((SELECT MAX(id) FROM bookings), 0) + 50, false);
+SELECT setval('comments_seq', COALESCE((SELECT MAX(id) FROM comments), 0) + 50, false);
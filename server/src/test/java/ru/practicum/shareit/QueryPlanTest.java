@@ -0,0 +1,165 @@
+package ru.practicum.shareit;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет по EXPLAIN, что SQL, который Hibernate генерирует для finder-методов
+ * BookingRepository, ItemRepository и CommentRepository, читает таблицы по индексам, а не полным просмотром.
+ * Метод репозитория вызывается по-настоящему, его SQL перехватывает RecordingStatementInspector,
+ * и EXPLAIN выполняется для этого же текста с подставленными параметрами.
+ * Поиск по подстроке сюда не входит: LIKE '%text%' обслуживают только триграммные индексы PostgreSQL.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.RecordingStatementInspector")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                finder("BookingRepository.findByBookerIdOrderByStartDescIdDesc",
+                        () -> bookingRepository.findByBookerIdOrderByStartDescIdDesc(1L, PAGE)),
+                finder("BookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc",
+                        () -> bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                                1L, NOW, NOW, PAGE)),
+                finder("BookingRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc",
+                        () -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc(1L, NOW, PAGE)),
+                finder("BookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc",
+                        () -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc(1L, NOW, PAGE)),
+                finder("BookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc",
+                        () -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(
+                                1L, BookingStatus.WAITING, PAGE)),
+                finder("BookingRepository.findByBookerBeforeCursor",
+                        () -> bookingRepository.findByBookerBeforeCursor(1L, NOW, 100L, PAGE)),
+                finder("BookingRepository.findByItemOwnerIdOrderByStartDescIdDesc",
+                        () -> bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(1L, PAGE)),
+                finder("BookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc",
+                        () -> bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                                1L, NOW, NOW, PAGE)),
+                finder("BookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc",
+                        () -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+                                1L, BookingStatus.WAITING, PAGE)),
+                finder("BookingRepository.findFirstByItemIdAndStatusNotAndEndBeforeOrderByEndDesc",
+                        () -> bookingRepository.findFirstByItemIdAndStatusNotAndEndBeforeOrderByEndDesc(
+                                1L, BookingStatus.REJECTED, NOW)),
+                finder("BookingRepository.findFirstByItemIdAndStatusNotAndStartAfterOrderByStartAsc",
+                        () -> bookingRepository.findFirstByItemIdAndStatusNotAndStartAfterOrderByStartAsc(
+                                1L, BookingStatus.REJECTED, NOW)),
+                finder("BookingRepository.findLastBookings",
+                        () -> bookingRepository.findLastBookings(List.of(1L, 2L, 3L), BookingStatus.REJECTED, NOW)),
+                finder("BookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore",
+                        () -> bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                                1L, 1L, BookingStatus.APPROVED, NOW)),
+                finder("ItemRepository.findItemDtosByOwnerId",
+                        () -> itemRepository.findItemDtosByOwnerId(1L)),
+                finder("ItemRepository.findRequestItemsByRequestId",
+                        () -> itemRepository.findRequestItemsByRequestId(1L)),
+                finder("ItemRepository.findRequestItemsByRequestIdIn",
+                        () -> itemRepository.findRequestItemsByRequestIdIn(List.of(1L, 2L, 3L))),
+                finder("CommentRepository.findDtosByItemId",
+                        () -> commentRepository.findDtosByItemId(1L, PAGE)),
+                finder("CommentRepository.findDtosByItemIdBefore",
+                        () -> commentRepository.findDtosByItemIdBefore(1L, NOW, 100L, PAGE)),
+                finder("ItemRequestRepository.findByRequester_IdOrderByIdDesc",
+                        () -> itemRequestRepository.findByRequester_IdOrderByIdDesc(1L))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void shouldUseIndex(String finder, Runnable call) {
+        RecordingStatementInspector.clear();
+        call.run();
+        String sql = lastSelect();
+
+        String plan = explain(sql);
+
+        assertThat(plan)
+                .as("План %s:%n%s%n%s", finder, sql, plan)
+                .doesNotContain("tableScan");
+    }
+
+    private static Arguments finder(String name, Runnable call) {
+        return Arguments.of(name, call);
+    }
+
+    private static String lastSelect() {
+        List<String> selects = RecordingStatementInspector.statements().stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+        assertThat(selects).as("finder не выполнил SELECT").isNotEmpty();
+        return selects.get(selects.size() - 1);
+    }
+
+    // План зависит от индексов и условий, а не от значений параметров, поэтому подставляются типовые значения
+    private String explain(String sql) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    bindSample(statement, i, parameters.getParameterType(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    private static void bindSample(PreparedStatement statement, int index, int type) throws SQLException {
+        switch (type) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT, Types.NUMERIC, Types.DECIMAL ->
+                    statement.setLong(index, 1L);
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE ->
+                    statement.setTimestamp(index, Timestamp.valueOf(NOW));
+            case Types.BOOLEAN -> statement.setBoolean(index, true);
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR -> statement.setString(index, "WAITING");
+            default -> statement.setObject(index, 1L);
+        }
+    }
+}
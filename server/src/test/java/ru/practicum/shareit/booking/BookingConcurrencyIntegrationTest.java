@@ -0,0 +1,180 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Без @Transactional: каждый поток работает в своей транзакции и видит только закоммиченные данные.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingConcurrencyIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final AtomicInteger EMAIL_SEQ = new AtomicInteger();
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = newUser("Owner");
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .ownerId(owner.getId())
+                .build());
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void concurrentApprovalsOfOverlappingBookingsShouldApproveOnlyOne() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookingIds.add(createBooking(newUser("Booker"), start.plusHours(i), start.plusDays(2)));
+        }
+
+        List<Callable<Object>> approvals = bookingIds.stream()
+                .<Callable<Object>>map(id -> () -> bookingService.approveBooking(id, true, owner.getId()))
+                .toList();
+        List<Throwable> failures = runConcurrently(approvals);
+
+        assertThat(failures).hasSize(THREADS - 1)
+                .allSatisfy(e -> assertThat(e).isInstanceOf(BookingConflictException.class));
+        assertThat(bookingRepository.findAllById(bookingIds))
+                .filteredOn(b -> b.getStatus() == BookingStatus.APPROVED)
+                .hasSize(1);
+    }
+
+    @Test
+    void concurrentApprovalsOfDisjointBookingsShouldAllSucceed() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookingIds.add(createBooking(newUser("Booker"), start.plusDays(i), start.plusDays(i).plusHours(12)));
+        }
+
+        List<Callable<Object>> approvals = bookingIds.stream()
+                .<Callable<Object>>map(id -> () -> bookingService.approveBooking(id, true, owner.getId()))
+                .toList();
+
+        assertThat(runConcurrently(approvals)).isEmpty();
+        assertThat(bookingRepository.findAllById(bookingIds))
+                .allSatisfy(b -> assertThat(b.getStatus()).isEqualTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void concurrentDecisionsOnSameBookingShouldApplyOnlyOne() throws Exception {
+        Long bookingId = createBooking(newUser("Booker"), start, start.plusDays(1));
+
+        List<Callable<Object>> decisions = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean approved = i % 2 == 0;
+            decisions.add(() -> bookingService.approveBooking(bookingId, approved, owner.getId()));
+        }
+        List<Throwable> failures = runConcurrently(decisions);
+
+        // проигравшие видят уже изменённый статус, уже подтверждённые даты или конфликт версий при коммите
+        assertThat(failures).hasSize(THREADS - 1)
+                .allSatisfy(e -> assertThat(e).isInstanceOfAny(IllegalArgumentException.class,
+                        BookingConflictException.class, OptimisticLockingFailureException.class));
+        assertThat(bookingRepository.findById(bookingId).orElseThrow().getStatus())
+                .isIn(BookingStatus.APPROVED, BookingStatus.REJECTED);
+    }
+
+    @Test
+    void createBookingShouldBeRejectedWhenDatesAlreadyApproved() {
+        Long approvedId = createBooking(newUser("Booker"), start, start.plusDays(2));
+        bookingService.approveBooking(approvedId, true, owner.getId());
+
+        User late = newUser("Late");
+        assertThatThrownBy(
+                        () -> createBooking(late, start.plusDays(1), start.plusDays(3)))
+                .isInstanceOf(BookingConflictException.class);
+    }
+
+    private Long createBooking(User booker, LocalDateTime from, LocalDateTime to) {
+        BookingDto dto = BookingDto.builder()
+                .itemId(item.getId())
+                .start(from)
+                .end(to)
+                .build();
+        return bookingService.createBooking(dto, booker.getId()).getId();
+    }
+
+    private User newUser(String name) {
+        int n = EMAIL_SEQ.incrementAndGet();
+        return userRepository.save(User.builder()
+                .name(name + n)
+                .email(name.toLowerCase() + n + "@example.com")
+                .build());
+    }
+
+    // Все задачи стартуют одновременно; возвращаются исключения неуспешных задач
+    private static List<Throwable> runConcurrently(List<Callable<Object>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (Callable<Object> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    return task.call();
+                }));
+            }
+            startSignal.countDown();
+
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
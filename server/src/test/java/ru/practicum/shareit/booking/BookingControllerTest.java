@@ -10,6 +10,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -196,4 +198,43 @@ class BookingControllerTest {
                         .content(objectMapper.writeValueAsString(bookingDto)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void shouldReturnNextCursorWhenPageIsFull() throws Exception {
+        when(bookingService.getBookingsByUser(eq(1L), eq("ALL"), eq(OffsetPageRequest.of(3, 1))))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("from", "3")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER,
+                        PageCursor.of(bookingResponseDto.getStart(), 1L).encode()));
+    }
+
+    @Test
+    void shouldNotReturnNextCursorWhenPageIsNotFull() throws Exception {
+        when(bookingService.getBookingsByOwner(eq(1L), eq("ALL"), any()))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldPassCursorToService() throws Exception {
+        String cursor = PageCursor.of(baseTime, 7L).encode();
+        when(bookingService.getBookingsByOwner(eq(1L), eq("FUTURE"), eq(cursor), eq(10)))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("state", "FUTURE")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
 }
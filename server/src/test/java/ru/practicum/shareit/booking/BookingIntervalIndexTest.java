@@ -0,0 +1,144 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex index;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(bookingRepository);
+        item = Item.builder().id(1L).ownerId(1L).build();
+        // занято: [T0+1d, T0+3d) и [T0+5d, T0+6d); тесты ItemIntervals репозиторий не трогают
+        lenient().when(bookingRepository.findByItemIdAndStatusAndEndAfter(eq(1L), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(approved(10L, 1, 3), approved(11L, 5, 6)));
+    }
+
+    @Test
+    void hasConflict_shouldDetectOverlapsAndAllowTouchingIntervals() {
+        assertThat(index.hasConflict(1L, day(2), day(4))).isTrue();
+        assertThat(index.hasConflict(1L, day(0), day(10))).isTrue();
+        assertThat(index.hasConflict(1L, day(5).plusHours(1), day(5).plusHours(2))).isTrue();
+
+        assertThat(index.hasConflict(1L, day(3), day(5))).isFalse();
+        assertThat(index.hasConflict(1L, day(0), day(1))).isFalse();
+        assertThat(index.hasConflict(1L, day(6), day(7))).isFalse();
+    }
+
+    @Test
+    void freeSlots_shouldReturnGapsInsideWindow() {
+        List<AvailabilitySlotDto> slots = index.freeSlots(1L, day(2), day(8));
+
+        assertThat(slots).containsExactly(
+                new AvailabilitySlotDto(day(3), day(5)),
+                new AvailabilitySlotDto(day(6), day(8)));
+    }
+
+    @Test
+    void freeSlots_whenWindowFullyBooked_shouldReturnEmptyList() {
+        assertThat(index.freeSlots(1L, day(1), day(3))).isEmpty();
+    }
+
+    @Test
+    void addAfterCommit_withoutTransaction_shouldUpdateLoadedItem() {
+        assertThat(index.hasConflict(1L, day(3), day(4))).isFalse();
+
+        index.addAfterCommit(approved(12L, 3, 4));
+
+        assertThat(index.hasConflict(1L, day(3), day(4))).isTrue();
+        verify(bookingRepository, times(1)).findByItemIdAndStatusAndEndAfter(any(), any(), any());
+    }
+
+    @Test
+    void invalidateAllAfterCommit_withoutTransaction_shouldReloadFromRepository() {
+        index.hasConflict(1L, day(0), day(1));
+        index.invalidateAllAfterCommit();
+        index.hasConflict(1L, day(0), day(1));
+
+        verify(bookingRepository, times(2)).findByItemIdAndStatusAndEndAfter(any(), any(), any());
+    }
+
+    @Test
+    void invalidateAllAfterCommit_insideTransaction_shouldKeepIntervalsUntilCommit() {
+        index.hasConflict(1L, day(0), day(1));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.invalidateAllAfterCommit();
+            index.hasConflict(1L, day(0), day(1));
+            verify(bookingRepository, times(1)).findByItemIdAndStatusAndEndAfter(any(), any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        index.hasConflict(1L, day(0), day(1));
+
+        verify(bookingRepository, times(2)).findByItemIdAndStatusAndEndAfter(any(), any(), any());
+    }
+
+    @Test
+    void itemIntervals_addSameBookingTwice_shouldReplaceItsInterval() {
+        BookingIntervalIndex.ItemIntervals set = new BookingIntervalIndex.ItemIntervals();
+
+        set.add(new BookingIntervalIndex.Interval(1L, day(1), day(2)));
+        set.add(new BookingIntervalIndex.Interval(1L, day(4), day(5)));
+
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.overlaps(day(1), day(2))).isFalse();
+        assertThat(set.overlaps(day(4), day(5))).isTrue();
+    }
+
+    @Test
+    void itemIntervals_pruneEnded_shouldDropOnlyFinishedIntervals() {
+        BookingIntervalIndex.ItemIntervals set = new BookingIntervalIndex.ItemIntervals();
+        set.add(new BookingIntervalIndex.Interval(1L, day(1), day(2)));
+        set.add(new BookingIntervalIndex.Interval(2L, day(2), day(3)));
+        set.add(new BookingIntervalIndex.Interval(3L, day(4), day(6)));
+
+        set.pruneEnded(day(5));
+
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.overlaps(day(5), day(7))).isTrue();
+        // повторное добавление удалённой брони не должно найти её старый интервал
+        set.add(new BookingIntervalIndex.Interval(1L, day(8), day(9)));
+        assertThat(set.size()).isEqualTo(2);
+    }
+
+    private Booking approved(Long id, int fromDay, int toDay) {
+        return Booking.builder()
+                .id(id)
+                .item(item)
+                .start(day(fromDay))
+                .end(day(toDay))
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+
+    private static LocalDateTime day(int n) {
+        return T0.plusDays(n);
+    }
+}
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
@@ -14,14 +18,16 @@ import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Transactional
 @AutoConfigureTestDatabase
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -33,6 +39,9 @@ class BookingServiceImplIntegrationTest {
     @Autowired
     private EntityManager entityManager;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     private User owner;
     private User booker;
     private Item item;
@@ -241,6 +250,35 @@ class BookingServiceImplIntegrationTest {
         assertEquals(item.getId(), bookings.get(0).getItem().getId());
     }
 
+    @Test
+    void shouldPageOwnerBookingsByStateAcrossItems() {
+        Item item2 = Item.builder()
+                .name("Hammer")
+                .description("Heavy hammer")
+                .available(true)
+                .ownerId(owner.getId())
+                .build();
+        entityManager.persist(item2);
+        entityManager.flush();
+
+        for (Item target : List.of(item, item2)) {
+            bookingService.createBooking(BookingDto.builder()
+                    .itemId(target.getId())
+                    .start(LocalDateTime.now().plusDays(1))
+                    .end(LocalDateTime.now().plusDays(2))
+                    .build(), booker.getId());
+        }
+
+        List<BookingResponseDto> firstPage = bookingService.getBookingsByOwner(
+                owner.getId(), "FUTURE", PageRequest.of(0, 1));
+        List<BookingResponseDto> secondPage = bookingService.getBookingsByOwner(
+                owner.getId(), "WAITING", PageRequest.of(1, 1));
+
+        assertEquals(1, firstPage.size());
+        assertEquals(1, secondPage.size());
+        assertNotEquals(firstPage.get(0).getId(), secondPage.get(0).getId());
+    }
+
     @Test
     void shouldGetUserBookingsByState() {
         // Прошлое бронирование
@@ -278,6 +316,78 @@ class BookingServiceImplIntegrationTest {
         assertEquals(1, future.size());
     }
 
+    @Test
+    void shouldPageBookingsWithCursorAcrossEqualStarts() {
+        // Два бронирования с одинаковым началом — порядок внутри определяется id
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < 2; i++) {
+            bookingService.createBooking(BookingDto.builder()
+                    .itemId(item.getId())
+                    .start(start)
+                    .end(start.plusDays(1))
+                    .build(), booker.getId());
+        }
+        bookingService.createBooking(BookingDto.builder()
+                .itemId(item.getId())
+                .start(start.plusDays(2))
+                .end(start.plusDays(3))
+                .build(), booker.getId());
+
+        List<BookingResponseDto> all = bookingService.getBookingsByUser(booker.getId(), "ALL", null);
+        BookingResponseDto first = all.get(0);
+        String cursor = PageCursor.of(first.getStart(), first.getId()).encode();
+
+        List<BookingResponseDto> rest = bookingService.getBookingsByUser(booker.getId(), "ALL", cursor, 10);
+        List<BookingResponseDto> ownerRest = bookingService.getBookingsByOwner(owner.getId(), "WAITING", cursor, 1);
+
+        assertEquals(3, all.size());
+        assertEquals(all.subList(1, 3).stream().map(BookingResponseDto::getId).toList(),
+                rest.stream().map(BookingResponseDto::getId).toList());
+        assertEquals(1, ownerRest.size());
+        assertEquals(all.get(1).getId(), ownerRest.get(0).getId());
+    }
+
+    @Test
+    void shouldLoadBookingListInConstantNumberOfQueries() {
+        for (int i = 0; i < 3; i++) {
+            Item extra = Item.builder()
+                    .name("Item " + i)
+                    .description("Extra item")
+                    .available(true)
+                    .ownerId(owner.getId())
+                    .build();
+            entityManager.persist(extra);
+            bookingService.createBooking(BookingDto.builder()
+                    .itemId(extra.getId())
+                    .start(LocalDateTime.now().plusDays(i + 1))
+                    .end(LocalDateTime.now().plusDays(i + 2))
+                    .build(), booker.getId());
+        }
+        entityManager.flush();
+        // Сбрасываем контекст, чтобы вещи и пользователи не достались из кэша первого уровня
+        entityManager.clear();
+
+        // Проверка существования не должна отвечать из кэша, иначе число запросов зависит от порядка вызовов
+        cacheManager.getCache(UserRepository.EXISTS_CACHE).invalidate();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<BookingResponseDto> byUser = bookingService.getBookingsByUser(booker.getId(), "ALL", null);
+        long userQueries = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+        List<BookingResponseDto> byOwner = bookingService.getBookingsByOwner(owner.getId(), "FUTURE", null);
+        long ownerQueries = statistics.getPrepareStatementCount();
+
+        assertEquals(3, byUser.size());
+        assertEquals(3, byOwner.size());
+        // Проверка пользователя + одна выборка бронирований вместе с вещами и бронирующими
+        assertEquals(2, userQueries);
+        assertEquals(2, ownerQueries);
+    }
+
     @Test
     void shouldThrowExceptionWhenUserNotFound() {
         BookingDto dto = BookingDto.builder()
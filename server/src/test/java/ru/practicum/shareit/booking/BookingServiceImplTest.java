@@ -1,25 +1,35 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.metrics.ServiceMetrics;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceValidator;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -37,6 +47,12 @@ class BookingServiceImplTest {
     private ItemRepository itemRepository;
     @Mock
     private BookingMapper bookingMapper;
+    @Mock
+    private UserExistenceValidator userValidator;
+    @Mock
+    private BookingIntervalIndex intervalIndex;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -85,8 +101,8 @@ class BookingServiceImplTest {
     @Test
     void createBookingShouldThrowWhenItemNotAvailable() {
         item.setAvailable(false);
-        when(userRepository.findById(eq(2L))).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(eq(1L))).thenReturn(Optional.of(item));
+        when(userRepository.findCachedById(eq(2L))).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(eq(1L))).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.createBooking(bookingDto, 2L))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -97,8 +113,8 @@ class BookingServiceImplTest {
 
     @Test
     void createBookingShouldThrowWhenUserIsOwner() {
-        when(userRepository.findById(eq(1L))).thenReturn(Optional.of(owner));
-        when(itemRepository.findById(eq(1L))).thenReturn(Optional.of(item));
+        when(userRepository.findCachedById(eq(1L))).thenReturn(Optional.of(owner));
+        when(itemRepository.findByIdForUpdate(eq(1L))).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.createBooking(bookingDto, 1L))
                 .isInstanceOf(ItemNotFoundException.class)
@@ -107,10 +123,68 @@ class BookingServiceImplTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void createBookingShouldThrowWhenApprovedBookingOverlaps() {
+        when(userRepository.findCachedById(eq(2L))).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(eq(1L))).thenReturn(Optional.of(item));
+        when(bookingMapper.toBooking(bookingDto, item, booker)).thenReturn(booking);
+        when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                1L, BookingStatus.APPROVED, booking.getEnd(), booking.getStart()))
+                .thenReturn(true);
+
+        assertThatThrownBy(() -> bookingService.createBooking(bookingDto, 2L))
+                .isInstanceOf(BookingConflictException.class)
+                .hasMessageContaining("Вещь уже забронирована на эти даты");
+
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createBookingShouldFailFastWhenIndexReportsConflict() {
+        when(userRepository.findCachedById(eq(2L))).thenReturn(Optional.of(booker));
+        when(intervalIndex.hasConflict(1L, bookingDto.getStart(), bookingDto.getEnd())).thenReturn(true);
+
+        assertThatThrownBy(() -> bookingService.createBooking(bookingDto, 2L))
+                .isInstanceOf(BookingConflictException.class);
+
+        verify(itemRepository, never()).findByIdForUpdate(any());
+    }
+
+    @Test
+    void approveBookingShouldLockItemAndThrowWhenApprovedBookingOverlaps() {
+        when(bookingRepository.findById(eq(1L))).thenReturn(Optional.of(booking));
+        when(itemRepository.findCachedById(eq(1L))).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(eq(1L))).thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                1L, BookingStatus.APPROVED, booking.getEnd(), booking.getStart()))
+                .thenReturn(true);
+
+        assertThatThrownBy(() -> bookingService.approveBooking(1L, true, 1L))
+                .isInstanceOf(BookingConflictException.class);
+
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.WAITING);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void rejectBookingShouldLockItemWithoutCheckingOverlaps() {
+        when(bookingRepository.findById(eq(1L))).thenReturn(Optional.of(booking));
+        when(itemRepository.findCachedById(eq(1L))).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(eq(1L))).thenReturn(Optional.of(item));
+        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(bookingMapper.toResponseDto(booking, item, booker)).thenReturn(new BookingResponseDto());
+
+        bookingService.approveBooking(1L, false, 1L);
+
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.REJECTED);
+        verify(itemRepository).findByIdForUpdate(1L);
+        verify(bookingRepository, never()).existsByItemIdAndStatusAndStartBeforeAndEndAfter(any(), any(), any(), any());
+    }
+
     @Test
     void approveBookingShouldThrowWhenUserNotOwner() {
         when(bookingRepository.findById(eq(1L))).thenReturn(Optional.of(booking));
-        when(itemRepository.findById(eq(1L))).thenReturn(Optional.of(item));
+        when(itemRepository.findCachedById(eq(1L))).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.approveBooking(1L, true, 999L))
                 .isInstanceOf(AccessDeniedException.class)
@@ -121,13 +195,111 @@ class BookingServiceImplTest {
     void approveBookingShouldThrowWhenStatusNotWaiting() {
         booking.setStatus(BookingStatus.APPROVED);
         when(bookingRepository.findById(eq(1L))).thenReturn(Optional.of(booking));
-        when(itemRepository.findById(eq(1L))).thenReturn(Optional.of(item));
+        when(itemRepository.findCachedById(eq(1L))).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.approveBooking(1L, true, 1L))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Можно подтверждать только ожидающие запросы");
     }
 
+    @Test
+    void approveBookingsShouldReturnResultPerRowInRequestOrder() {
+        Booking approved = Booking.builder()
+                .id(2L)
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+        when(bookingRepository.findByIdIn(anyCollection())).thenReturn(List.of(approved, booking));
+        when(bookingMapper.toResponseDto(booking, item, booker)).thenReturn(new BookingResponseDto());
+
+        List<BatchResult<BookingResponseDto>> results = bookingService.approveBookings(List.of(1L, 2L, 99L), true, 1L);
+
+        assertThat(results).extracting(BatchResult::getId).containsExactly(1L, 2L, 99L);
+        assertThat(results).extracting(BatchResult::getStatus).containsExactly(200, 400, 404);
+        assertThat(results.get(1).getError()).isEqualTo("Можно подтверждать только ожидающие запросы");
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.APPROVED);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void approveBookingsShouldRejectRowsOfOtherOwners() {
+        when(bookingRepository.findByIdIn(anyCollection())).thenReturn(List.of(booking));
+
+        List<BatchResult<BookingResponseDto>> results = bookingService.approveBookings(List.of(1L), false, 999L);
+
+        assertThat(results).singleElement()
+                .satisfies(result -> {
+                    assertThat(result.getStatus()).isEqualTo(403);
+                    assertThat(result.getResult()).isNull();
+                });
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void approveBookingsShouldLockItemsBeforeLoadingBookings() {
+        when(bookingRepository.findItemIdsByIdInAndOwnerId(anyCollection(), eq(1L))).thenReturn(List.of(1L));
+        when(bookingRepository.findByIdIn(anyCollection())).thenReturn(List.of(booking));
+        when(bookingMapper.toResponseDto(booking, item, booker)).thenReturn(new BookingResponseDto());
+
+        bookingService.approveBookings(List.of(1L), false, 1L);
+
+        InOrder inOrder = inOrder(bookingRepository, itemRepository);
+        inOrder.verify(bookingRepository).findItemIdsByIdInAndOwnerId(anyCollection(), eq(1L));
+        inOrder.verify(itemRepository).findAllByIdForUpdate(List.of(1L));
+        inOrder.verify(bookingRepository).findByIdIn(anyCollection());
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.REJECTED);
+    }
+
+    @Test
+    void approveBookingsShouldCheckOverlapsInMemoryIncludingRowsApprovedInBatch() {
+        Booking overlapping = Booking.builder()
+                .id(2L)
+                .item(item)
+                .booker(booker)
+                .start(fixedNow.plusDays(1).plusHours(12))
+                .end(fixedNow.plusDays(3))
+                .status(BookingStatus.WAITING)
+                .build();
+        Booking clashingWithStored = Booking.builder()
+                .id(3L)
+                .item(item)
+                .booker(booker)
+                .start(fixedNow.plusDays(5))
+                .end(fixedNow.plusDays(6))
+                .status(BookingStatus.WAITING)
+                .build();
+        Booking stored = Booking.builder()
+                .id(4L)
+                .item(item)
+                .booker(booker)
+                .start(fixedNow.plusDays(4))
+                .end(fixedNow.plusDays(7))
+                .status(BookingStatus.APPROVED)
+                .build();
+        when(bookingRepository.findItemIdsByIdInAndOwnerId(anyCollection(), eq(1L))).thenReturn(List.of(1L));
+        when(bookingRepository.findByIdIn(anyCollection())).thenReturn(List.of(booking, overlapping, clashingWithStored));
+        when(bookingRepository.findByItemIdInAndStatusAndEndAfter(List.of(1L), BookingStatus.APPROVED,
+                booking.getStart())).thenReturn(List.of(stored));
+        when(bookingMapper.toResponseDto(booking, item, booker)).thenReturn(new BookingResponseDto());
+
+        List<BatchResult<BookingResponseDto>> results = bookingService.approveBookings(List.of(1L, 2L, 3L), true, 1L);
+
+        assertThat(results).extracting(BatchResult::getStatus).containsExactly(200, 409, 409);
+        assertThat(overlapping.getStatus()).isEqualTo(BookingStatus.WAITING);
+        assertThat(clashingWithStored.getStatus()).isEqualTo(BookingStatus.WAITING);
+        verify(bookingRepository, never()).existsByItemIdAndStatusAndStartBeforeAndEndAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    void approveBookingsShouldRejectOversizeBatch() {
+        List<Long> ids = LongStream.rangeClosed(1, BookingServiceImpl.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThatThrownBy(() -> bookingService.approveBookings(ids, true, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(bookingRepository, itemRepository);
+    }
+
     @Test
     void getBookingByIdShouldThrowWhenUserHasNoAccess() {
         when(bookingRepository.findById(eq(1L))).thenReturn(Optional.of(booking));
@@ -139,8 +311,7 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingsByUserShouldReturnAll() {
-        when(userRepository.findById(eq(2L))).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdOrderByStartDesc(eq(2L), eq(pageable)))
+        when(bookingRepository.findByBookerIdOrderByStartDescIdDesc(eq(2L), eq(pageable)))
                 .thenReturn(List.of(booking));
         when(bookingMapper.toResponseDto(any(Booking.class), any(Item.class), any(User.class)))
                 .thenReturn(new BookingResponseDto());
@@ -148,8 +319,12 @@ class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getBookingsByUser(2L, "ALL", pageable);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdOrderByStartDesc(eq(2L), eq(pageable));
+        verify(bookingRepository).findByBookerIdOrderByStartDescIdDesc(eq(2L), eq(pageable));
         verify(bookingMapper).toResponseDto(any(Booking.class), any(Item.class), any(User.class));
+        assertThat(meterRegistry.get(ServiceMetrics.BOOKING_LIST_SIZE)
+                .tags("method", "getBookingsByUser", "state", "ALL")
+                .summary()
+                .totalAmount()).isEqualTo(1);
     }
 
     @Test
@@ -160,8 +335,7 @@ class BookingServiceImplTest {
                 .status(BookingStatus.APPROVED)
                 .build();
 
-        when(userRepository.findById(eq(2L))).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(
+        when(bookingRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc(
                 eq(2L), any(LocalDateTime.class), eq(pageable)))
                 .thenReturn(List.of(pastBooking));
         when(bookingMapper.toResponseDto(any(Booking.class), any(Item.class), any(User.class)))
@@ -170,15 +344,14 @@ class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getBookingsByUser(2L, "PAST", pageable);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndEndBeforeOrderByStartDesc(
+        verify(bookingRepository).findByBookerIdAndEndBeforeOrderByStartDescIdDesc(
                 eq(2L), any(LocalDateTime.class), eq(pageable));
         verify(bookingMapper).toResponseDto(any(Booking.class), any(Item.class), any(User.class));
     }
 
     @Test
     void getBookingsByUserShouldReturnFuture() {
-        when(userRepository.findById(eq(2L))).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(
+        when(bookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc(
                 eq(2L), any(LocalDateTime.class), eq(pageable)))
                 .thenReturn(List.of(booking));
         when(bookingMapper.toResponseDto(any(Booking.class), any(Item.class), any(User.class)))
@@ -187,7 +360,7 @@ class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getBookingsByUser(2L, "FUTURE", pageable);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndStartAfterOrderByStartDesc(
+        verify(bookingRepository).findByBookerIdAndStartAfterOrderByStartDescIdDesc(
                 eq(2L), any(LocalDateTime.class), eq(pageable));
         verify(bookingMapper).toResponseDto(any(Booking.class), any(Item.class), any(User.class));
     }
@@ -200,8 +373,7 @@ class BookingServiceImplTest {
                 .status(BookingStatus.APPROVED)
                 .build();
 
-        when(userRepository.findById(eq(2L))).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
+        when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
                 eq(2L), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable)))
                 .thenReturn(List.of(currentBooking));
         when(bookingMapper.toResponseDto(any(Booking.class), any(Item.class), any(User.class)))
@@ -210,16 +382,14 @@ class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getBookingsByUser(2L, "CURRENT", pageable);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
+        verify(bookingRepository).findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
                 eq(2L), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable));
         verify(bookingMapper).toResponseDto(any(Booking.class), any(Item.class), any(User.class));
     }
 
     @Test
     void getBookingsByOwnerShouldReturnAll() {
-        when(userRepository.findById(eq(1L))).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwnerIdOrderById(eq(1L))).thenReturn(List.of(item));
-        when(bookingRepository.findByItemOwnerIdOrderByStartDesc(eq(1L), eq(pageable)))
+        when(bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(eq(1L), eq(pageable)))
                 .thenReturn(List.of(booking));
         when(bookingMapper.toResponseDto(any(Booking.class), any(Item.class), any(User.class)))
                 .thenReturn(new BookingResponseDto());
@@ -227,7 +397,7 @@ class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getBookingsByOwner(1L, "ALL", pageable);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByItemOwnerIdOrderByStartDesc(eq(1L), eq(pageable));
+        verify(bookingRepository).findByItemOwnerIdOrderByStartDescIdDesc(eq(1L), eq(pageable));
         verify(bookingMapper).toResponseDto(any(Booking.class), any(Item.class), any(User.class));
     }
 
@@ -239,10 +409,8 @@ class BookingServiceImplTest {
                 .status(BookingStatus.APPROVED)
                 .build();
 
-        when(userRepository.findById(eq(1L))).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwnerIdOrderById(eq(1L))).thenReturn(List.of(item));
-        when(bookingRepository.findByItemIdInAndStartBeforeAndEndAfterOrderByStartDesc(
-                anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+        when(bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                eq(1L), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable)))
                 .thenReturn(List.of(currentBooking));
         when(bookingMapper.toResponseDto(any(Booking.class), any(Item.class), any(User.class)))
                 .thenReturn(new BookingResponseDto());
@@ -250,8 +418,8 @@ class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getBookingsByOwner(1L, "CURRENT", pageable);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByItemIdInAndStartBeforeAndEndAfterOrderByStartDesc(
-                anyList(), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(bookingRepository).findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                eq(1L), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable));
         verify(bookingMapper).toResponseDto(any(Booking.class), any(Item.class), any(User.class));
     }
 
@@ -263,9 +431,8 @@ class BookingServiceImplTest {
                 .status(BookingStatus.APPROVED)
                 .build();
 
-        when(userRepository.findById(eq(1L))).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwnerIdOrderById(eq(1L))).thenReturn(List.of(item));
-        when(bookingRepository.findByItemIdInAndEndBeforeOrderByStartDesc(anyList(), any(LocalDateTime.class)))
+        when(bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(
+                eq(1L), any(LocalDateTime.class), eq(pageable)))
                 .thenReturn(List.of(pastBooking));
         when(bookingMapper.toResponseDto(any(Booking.class), any(Item.class), any(User.class)))
                 .thenReturn(new BookingResponseDto());
@@ -273,15 +440,15 @@ class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getBookingsByOwner(1L, "PAST", pageable);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByItemIdInAndEndBeforeOrderByStartDesc(anyList(), any(LocalDateTime.class));
+        verify(bookingRepository).findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(
+                eq(1L), any(LocalDateTime.class), eq(pageable));
         verify(bookingMapper).toResponseDto(any(Booking.class), any(Item.class), any(User.class));
     }
 
     @Test
     void getBookingsByOwnerShouldReturnFuture() {
-        when(userRepository.findById(eq(1L))).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwnerIdOrderById(eq(1L))).thenReturn(List.of(item));
-        when(bookingRepository.findByItemIdInAndStartAfterOrderByStartDesc(anyList(), any(LocalDateTime.class)))
+        when(bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(
+                eq(1L), any(LocalDateTime.class), eq(pageable)))
                 .thenReturn(List.of(booking));
         when(bookingMapper.toResponseDto(any(Booking.class), any(Item.class), any(User.class)))
                 .thenReturn(new BookingResponseDto());
@@ -289,7 +456,61 @@ class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getBookingsByOwner(1L, "FUTURE", pageable);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByItemIdInAndStartAfterOrderByStartDesc(anyList(), any(LocalDateTime.class));
+        verify(bookingRepository).findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(
+                eq(1L), any(LocalDateTime.class), eq(pageable));
         verify(bookingMapper).toResponseDto(any(Booking.class), any(Item.class), any(User.class));
     }
+
+    @Test
+    void getBookingsByUserWithCursorShouldSeekAfterCursor() {
+        String cursor = PageCursor.of(fixedNow, 5L).encode();
+        when(bookingRepository.findPastByBookerBeforeCursor(
+                eq(2L), any(LocalDateTime.class), eq(fixedNow), eq(5L), eq(PageRequest.ofSize(10))))
+                .thenReturn(List.of(booking));
+        when(bookingMapper.toResponseDto(any(Booking.class), any(Item.class), any(User.class)))
+                .thenReturn(new BookingResponseDto());
+
+        List<BookingResponseDto> result = bookingService.getBookingsByUser(2L, "PAST", cursor, 10);
+
+        assertThat(result).hasSize(1);
+        verify(bookingRepository).findPastByBookerBeforeCursor(
+                eq(2L), any(LocalDateTime.class), eq(fixedNow), eq(5L), eq(PageRequest.ofSize(10)));
+    }
+
+    @Test
+    void getBookingsByOwnerWithCursorShouldSeekAfterCursor() {
+        String cursor = PageCursor.of(fixedNow, 5L).encode();
+        when(bookingRepository.findByOwnerAndStatusBeforeCursor(
+                eq(1L), eq(BookingStatus.WAITING), eq(fixedNow), eq(5L), eq(PageRequest.ofSize(10))))
+                .thenReturn(List.of(booking));
+        when(bookingMapper.toResponseDto(any(Booking.class), any(Item.class), any(User.class)))
+                .thenReturn(new BookingResponseDto());
+
+        List<BookingResponseDto> result = bookingService.getBookingsByOwner(1L, "WAITING", cursor, 10);
+
+        assertThat(result).hasSize(1);
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void getBookingsByOwnerShouldPageByStatusWithoutLoadingItems() {
+        when(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+                eq(1L), eq(BookingStatus.REJECTED), eq(pageable)))
+                .thenReturn(List.of(booking));
+        when(bookingMapper.toResponseDto(any(Booking.class), any(Item.class), any(User.class)))
+                .thenReturn(new BookingResponseDto());
+
+        List<BookingResponseDto> result = bookingService.getBookingsByOwner(1L, "REJECTED", pageable);
+
+        assertThat(result).hasSize(1);
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void getBookingsByUserShouldRejectMalformedCursor() {
+
+        assertThatThrownBy(() -> bookingService.getBookingsByUser(2L, "ALL", "%%%", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Некорректный курсор");
+    }
 }
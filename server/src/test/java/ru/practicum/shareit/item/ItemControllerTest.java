@@ -10,6 +10,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.comment.CommentCreateDto;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -116,12 +118,41 @@ class ItemControllerTest {
 
     @Test
     void shouldSearchItemsAndReturnList() throws Exception {
-        when(itemService.searchItems("drill"))
-                .thenReturn(List.of());
+        when(itemService.searchItems("drill", null, 0, 20))
+                .thenReturn(CursorPage.empty());
 
         mockMvc.perform(get("/items/search")
                         .param("text", "drill"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldReturnNextCursorHeaderWhenSearchPageIsFull() throws Exception {
+        ItemDto dto = ItemDto.builder().id(5L).name("Drill").build();
+        when(itemService.searchItems("drill", "abc", 0, 1))
+                .thenReturn(new CursorPage<>(List.of(dto), "next"));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .param("size", "1")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(5))
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, "next"));
+    }
+
+    @Test
+    void shouldReturnCommentsPageWithNextCursorHeader() throws Exception {
+        CommentDto comment = CommentDto.builder().id(3L).text("text").authorName("user").build();
+        when(itemService.getComments(1L, null, 0, 1))
+                .thenReturn(new CursorPage<>(List.of(comment), "next"));
+
+        mockMvc.perform(get("/items/{itemId}/comments", 1L)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].authorName").value("user"))
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, "next"));
     }
 
     @Test
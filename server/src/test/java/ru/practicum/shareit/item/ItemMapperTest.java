@@ -9,6 +9,8 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(SpringExtension.class)
@@ -41,6 +43,21 @@ class ItemMapperTest {
         assertEquals(10L, dto.getRequestId());
     }
 
+    @Test
+    void shouldMapCommentSummaryAndDefaultMissingCountToZero() {
+        LocalDateTime lastCommentAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Item commented = Item.builder().id(1L).commentCount(3L).lastCommentAt(lastCommentAt).build();
+        Item fresh = Item.builder().id(2L).build();
+
+        ItemDto commentedDto = mapper.toItemDto(commented);
+        ItemDto freshDto = mapper.toItemDto(fresh);
+
+        assertEquals(3L, commentedDto.getCommentCount());
+        assertEquals(lastCommentAt, commentedDto.getLastCommentAt());
+        assertEquals(0L, freshDto.getCommentCount());
+        assertNull(freshDto.getLastCommentAt());
+    }
+
     @Test
     void shouldMapItemToItemDtoWhenRequestIsNull() {
         Item item = Item.builder()
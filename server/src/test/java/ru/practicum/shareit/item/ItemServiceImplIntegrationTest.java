@@ -6,11 +6,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +39,9 @@ class ItemServiceImplIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserService userService;
+
     private User testUser;
     private ItemDto testItemDto;
 
@@ -106,17 +117,41 @@ class ItemServiceImplIntegrationTest {
         assertTrue(userItems.stream().anyMatch(item -> item.getName().equals("Hammer")));
     }
 
+    @Test
+    void shouldReturnOnlyNearestLastAndNextBookingsForOwnerItems() {
+        ItemDto created = itemService.createItem(testItemDto, testUser.getId());
+        Item item = itemRepository.findById(created.getId()).orElseThrow();
+        User booker = userRepository.save(User.builder().name("Booker").email("booker@email.com").build());
+        LocalDateTime now = LocalDateTime.now();
+
+        Booking oldPast = persistBooking(item, booker, now.minusDays(10), now.minusDays(9), BookingStatus.APPROVED);
+        Booking lastPast = persistBooking(item, booker, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        persistBooking(item, booker, now.plusHours(1), now.plusHours(2), BookingStatus.WAITING);
+        Booking nearFuture = persistBooking(item, booker, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED);
+        persistBooking(item, booker, now.plusDays(5), now.plusDays(6), BookingStatus.APPROVED);
+        entityManager.flush();
+
+        ItemDto byOwner = itemService.getItemsByOwner(testUser.getId()).get(0);
+        ItemDto byId = itemService.getItemById(item.getId(), testUser.getId());
+
+        assertNotEquals(oldPast.getId(), byOwner.getLastBooking().getId());
+        assertEquals(lastPast.getId(), byOwner.getLastBooking().getId());
+        assertEquals(nearFuture.getId(), byOwner.getNextBooking().getId());
+        assertEquals(lastPast.getId(), byId.getLastBooking().getId());
+        assertEquals(nearFuture.getId(), byId.getNextBooking().getId());
+    }
+
     @Test
     void shouldSearchItemsByText() {
         ItemDto createdItem = itemService.createItem(testItemDto, testUser.getId());
 
-        List<ItemDto> searchResults = itemService.searchItems("drill");
+        List<ItemDto> searchResults = search("drill");
 
         assertNotNull(searchResults);
         assertEquals(1, searchResults.size());
         assertEquals(createdItem.getId(), searchResults.get(0).getId());
 
-        List<ItemDto> searchResultsByDescription = itemService.searchItems("professional");
+        List<ItemDto> searchResultsByDescription = search("professional");
 
         assertEquals(1, searchResultsByDescription.size());
         assertEquals(createdItem.getId(), searchResultsByDescription.get(0).getId());
@@ -138,17 +173,139 @@ class ItemServiceImplIntegrationTest {
                 .build();
         itemService.createItem(unavailableItem, testUser.getId());
 
-        List<ItemDto> searchResults = itemService.searchItems("drill");
+        List<ItemDto> searchResults = search("drill");
 
         assertEquals(1, searchResults.size());
         assertEquals("Power Drill", searchResults.get(0).getName());
     }
 
+    @Test
+    void shouldRankNameMatchesBeforeDescriptionMatches() {
+        ItemDto descriptionMatch = ItemDto.builder()
+                .name("Hammer")
+                .description("Fits next to any drill")
+                .available(true)
+                .build();
+        itemService.createItem(descriptionMatch, testUser.getId());
+        ItemDto nameMatch = itemService.createItem(testItemDto, testUser.getId());
+
+        List<ItemDto> searchResults = search("drill");
+
+        assertEquals(2, searchResults.size());
+        assertEquals(nameMatch.getId(), searchResults.get(0).getId());
+        assertEquals("Hammer", searchResults.get(1).getName());
+    }
+
+    @Test
+    void shouldPageSearchResultsWithCursor() {
+        for (int i = 1; i <= 3; i++) {
+            itemService.createItem(ItemDto.builder()
+                    .name("Drill " + i)
+                    .description("Drill number " + i)
+                    .available(true)
+                    .build(), testUser.getId());
+        }
+
+        CursorPage<ItemDto> firstPage = itemService.searchItems("drill", null, 0, 2);
+        assertEquals(2, firstPage.getContent().size());
+        assertNotNull(firstPage.getNextCursor());
+
+        CursorPage<ItemDto> secondPage = itemService.searchItems("drill", firstPage.getNextCursor(), 0, 2);
+        assertEquals(1, secondPage.getContent().size());
+        assertEquals("Drill 3", secondPage.getContent().get(0).getName());
+        assertNull(secondPage.getNextCursor());
+
+        CursorPage<ItemDto> offsetPage = itemService.searchItems("drill", null, 1, 2);
+        assertEquals("Drill 2", offsetPage.getContent().get(0).getName());
+    }
+
+    @Test
+    void shouldPageCommentsNewestFirstWithCursor() {
+        ItemDto createdItem = itemService.createItem(testItemDto, testUser.getId());
+        Item item = itemRepository.findById(createdItem.getId()).orElseThrow();
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+        for (int i = 1; i <= 3; i++) {
+            entityManager.persist(new Comment(null, "Отзыв " + i, item, testUser, base.plusHours(i)));
+        }
+        entityManager.flush();
+
+        CursorPage<CommentDto> firstPage = itemService.getComments(item.getId(), null, 0, 2);
+        assertEquals(List.of("Отзыв 3", "Отзыв 2"), firstPage.getContent().stream().map(CommentDto::getText).toList());
+        assertEquals("Test User", firstPage.getContent().get(0).getAuthorName());
+        assertNotNull(firstPage.getNextCursor());
+
+        CursorPage<CommentDto> secondPage = itemService.getComments(item.getId(), firstPage.getNextCursor(), 0, 2);
+        assertEquals(1, secondPage.getContent().size());
+        assertEquals("Отзыв 1", secondPage.getContent().get(0).getText());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void shouldNotAllowCommentAfterRejectedBooking() {
+        ItemDto createdItem = itemService.createItem(testItemDto, testUser.getId());
+        Item item = itemRepository.findById(createdItem.getId()).orElseThrow();
+        User booker = userRepository.save(User.builder().name("Booker").email("booker@email.com").build());
+        LocalDateTime now = LocalDateTime.now();
+        persistBooking(item, booker, now.minusDays(3), now.minusDays(2), BookingStatus.REJECTED);
+        entityManager.flush();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> itemService.addComment(item.getId(), booker.getId(), "Отзыв"));
+    }
+
+    @Test
+    void shouldMaintainCommentSummaryOnAddCommentAndAuthorDeletion() {
+        ItemDto createdItem = itemService.createItem(testItemDto, testUser.getId());
+        Item item = itemRepository.findById(createdItem.getId()).orElseThrow();
+        User booker = userRepository.save(User.builder().name("Booker").email("booker@email.com").build());
+        LocalDateTime now = LocalDateTime.now();
+        persistBooking(item, booker, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        entityManager.flush();
+
+        itemService.addComment(item.getId(), booker.getId(), "Первый");
+        itemService.addComment(item.getId(), booker.getId(), "Второй");
+        // pooled SEQUENCE откладывает INSERT отзывов до flush, без него clear() выбросит их из контекста
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemDto byOwner = itemService.getItemsByOwner(testUser.getId()).get(0);
+        assertEquals(2L, byOwner.getCommentCount());
+        assertNotNull(byOwner.getLastCommentAt());
+        assertNull(byOwner.getComments());
+        assertEquals(2L, search("drill").get(0).getCommentCount());
+
+        userService.deleteUser(booker.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemDto afterDeletion = itemService.getItemsByOwner(testUser.getId()).get(0);
+        assertEquals(0L, afterDeletion.getCommentCount());
+        assertNull(afterDeletion.getLastCommentAt());
+    }
+
+    @Test
+    void shouldTreatLikeWildcardsLiterallyWhenPagingWithCursor() {
+        createAvailableItem("Набор a_b", "Ключи");
+        createAvailableItem("axb адаптер", "Подходит к a_b");
+        createAvailableItem("Ключ", "Размер A_B");
+        createAvailableItem("axb без совпадений", "Ничего общего");
+
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ItemDto> page = itemService.searchItems("a_b", cursor, 0, 1);
+            page.getContent().forEach(item -> names.add(item.getName()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of("Набор a_b", "axb адаптер", "Ключ"), names);
+    }
+
     @Test
     void shouldReturnEmptyListWhenSearchTextIsBlank() {
         itemService.createItem(testItemDto, testUser.getId());
 
-        List<ItemDto> searchResults = itemService.searchItems("");
+        List<ItemDto> searchResults = search("");
 
         assertNotNull(searchResults);
         assertTrue(searchResults.isEmpty());
@@ -158,9 +315,9 @@ class ItemServiceImplIntegrationTest {
     void shouldSearchCaseInsensitive() {
         ItemDto createdItem = itemService.createItem(testItemDto, testUser.getId());
 
-        List<ItemDto> searchResults1 = itemService.searchItems("DRILL");
-        List<ItemDto> searchResults2 = itemService.searchItems("DrIlL");
-        List<ItemDto> searchResults3 = itemService.searchItems("power");
+        List<ItemDto> searchResults1 = search("DRILL");
+        List<ItemDto> searchResults2 = search("DrIlL");
+        List<ItemDto> searchResults3 = search("power");
 
         assertEquals(1, searchResults1.size());
         assertEquals(1, searchResults2.size());
@@ -169,4 +326,29 @@ class ItemServiceImplIntegrationTest {
         assertEquals(createdItem.getId(), searchResults2.get(0).getId());
         assertEquals(createdItem.getId(), searchResults3.get(0).getId());
     }
+
+    private void createAvailableItem(String name, String description) {
+        itemService.createItem(ItemDto.builder()
+                .name(name)
+                .description(description)
+                .available(true)
+                .build(), testUser.getId());
+    }
+
+    private List<ItemDto> search(String text) {
+        return itemService.searchItems(text, null, 0, 20).getContent();
+    }
+
+    private Booking persistBooking(Item item, User booker, LocalDateTime start, LocalDateTime end,
+                                   BookingStatus status) {
+        Booking booking = Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build();
+        entityManager.persist(booking);
+        return booking;
+    }
 }
@@ -1,34 +1,48 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.comment.CommentCreateDto;
+import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.UserDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
-import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.UserExistenceValidator;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +51,7 @@ class ItemServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
     @Mock
-    private UserService userService;
+    private UserExistenceValidator userValidator;
     @Mock
     private ItemMapper itemMapper;
     @Mock
@@ -50,6 +64,10 @@ class ItemServiceImplTest {
     private ItemRequestRepository itemRequestRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -107,19 +125,39 @@ class ItemServiceImplTest {
     @Test
     void getItemByIdShouldReturnItemDtoWhenExists() {
         ItemDto expectedDto = ItemDto.builder().id(1L).name("Item").build();
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
         when(itemMapper.toItemDto(item)).thenReturn(expectedDto);
 
         ItemDto result = itemService.getItemById(1L, 1L);
 
         assertThat(result).isEqualTo(expectedDto);
-        verify(itemRepository).findById(1L);
+        verify(itemRepository).findCachedById(1L);
         verify(itemMapper).toItemDto(item);
     }
 
+    @Test
+    void getItemByIdShouldReturnLastAndNextBookingForOwner() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking last = Booking.builder().id(5L).booker(user).start(now.minusDays(2)).end(now.minusDays(1)).build();
+        Booking next = Booking.builder().id(6L).booker(user).start(now.plusDays(1)).end(now.plusDays(2)).build();
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
+        when(itemMapper.toItemDto(item)).thenReturn(ItemDto.builder().id(1L).build());
+        when(bookingRepository.findFirstByItemIdAndStatusNotAndEndBeforeOrderByEndDesc(
+                eq(1L), eq(BookingStatus.WAITING), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(last));
+        when(bookingRepository.findFirstByItemIdAndStatusNotAndStartAfterOrderByStartAsc(
+                eq(1L), eq(BookingStatus.WAITING), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(next));
+
+        ItemDto result = itemService.getItemById(1L, 1L);
+
+        assertThat(result.getLastBooking().getId()).isEqualTo(5L);
+        assertThat(result.getNextBooking().getId()).isEqualTo(6L);
+    }
+
     @Test
     void getItemByIdShouldThrowNotFoundExceptionWhenNotExists() {
-        when(itemRepository.findById(999L)).thenReturn(Optional.empty());
+        when(itemRepository.findCachedById(999L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> itemService.getItemById(999L, 1L))
                 .isInstanceOf(ItemNotFoundException.class)
@@ -128,11 +166,8 @@ class ItemServiceImplTest {
 
     @Test
     void createItemShouldReturnItemDtoWhenValid() {
-        UserDto userDto = new UserDto(1L, "User", "user@yandex.ru");
         ItemDto savedDto = ItemDto.builder().id(1L).name("Item").build();
 
-        when(userService.getUserById(1L)).thenReturn(userDto);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(itemMapper.toItem(itemDto, 1L)).thenReturn(item);
         when(itemRepository.save(item)).thenReturn(item);
         when(itemMapper.toItemDto(item)).thenReturn(savedDto);
@@ -140,8 +175,7 @@ class ItemServiceImplTest {
         ItemDto result = itemService.createItem(itemDto, 1L);
 
         assertThat(result).isEqualTo(savedDto);
-        verify(userService).getUserById(1L);
-        verify(userRepository).findById(1L);
+        verify(userValidator).requireExists(1L);
         verify(itemRepository).save(item);
         assertThat(item.getOwnerId()).isEqualTo(1L);
     }
@@ -149,18 +183,15 @@ class ItemServiceImplTest {
     @Test
     void createItemWithRequestIdShouldSetRequestWhenRequestExists() {
         itemDto.setRequestId(10L);
-        UserDto userDto = new UserDto(1L, "User", "user@yandex.ru");
 
-        when(userService.getUserById(1L)).thenReturn(userDto);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(itemMapper.toItem(itemDto, 1L)).thenReturn(item);
-        when(itemRequestRepository.findById(10L)).thenReturn(Optional.of(itemRequest));
+        when(itemRequestRepository.findCachedById(10L)).thenReturn(Optional.of(itemRequest));
         when(itemRepository.save(item)).thenReturn(item);
         when(itemMapper.toItemDto(item)).thenReturn(itemDto);
 
         itemService.createItem(itemDto, 1L);
 
-        verify(itemRequestRepository).findById(10L);
+        verify(itemRequestRepository).findCachedById(10L);
         verify(itemRepository).save(item);
         assertThat(item.getRequest()).isEqualTo(itemRequest);
     }
@@ -169,16 +200,15 @@ class ItemServiceImplTest {
     void createItemWithRequestIdShouldThrowNotFoundExceptionWhenRequestNotExists() {
         itemDto.setRequestId(999L);
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
 
         when(itemMapper.toItem(itemDto, 1L)).thenReturn(item);
-        when(itemRequestRepository.findById(999L)).thenReturn(Optional.empty());
+        when(itemRequestRepository.findCachedById(999L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> itemService.createItem(itemDto, 1L))
                 .isInstanceOf(ItemNotFoundException.class)
                 .hasMessageContaining("Запрос с id 999 не найден");
 
-        verify(itemRequestRepository).findById(999L);
+        verify(itemRequestRepository).findCachedById(999L);
     }
 
     @Test
@@ -227,50 +257,155 @@ class ItemServiceImplTest {
 
     @Test
     void searchItemsShouldReturnEmptyListWhenTextIsBlank() {
-        List<ItemDto> result = itemService.searchItems("");
+        CursorPage<ItemDto> result = itemService.searchItems("", null, 0, 20);
 
-        assertThat(result).isEmpty();
-        verify(itemRepository, never()).searchAvailableItems(any());
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getNextCursor()).isNull();
+        verify(itemRepository, never()).searchAvailableItems(any(), any());
     }
 
     @Test
     void searchItemsShouldReturnEmptyListWhenTextIsNull() {
-        List<ItemDto> result = itemService.searchItems(null);
+        CursorPage<ItemDto> result = itemService.searchItems(null, null, 0, 20);
 
-        assertThat(result).isEmpty();
-        verify(itemRepository, never()).searchAvailableItems(any());
+        assertThat(result.getContent()).isEmpty();
+        verify(itemRepository, never()).searchAvailableItems(any(), any());
     }
 
     @Test
     void searchItemsShouldReturnItemsWhenTextIsValid() {
         List<Item> items = List.of(item);
         ItemDto itemDto = ItemDto.builder().id(1L).name("Item").build();
-        when(itemRepository.searchAvailableItems("drill")).thenReturn(items);
+        when(itemRepository.searchAvailableItems("drill", OffsetPageRequest.of(0, 20))).thenReturn(items);
         when(itemMapper.toItemDto(item)).thenReturn(itemDto);
 
-        List<ItemDto> result = itemService.searchItems("drill");
+        CursorPage<ItemDto> result = itemService.searchItems("drill", null, 0, 20);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0)).isEqualTo(itemDto);
+        assertThat(result.getNextCursor()).isNull();
+        verify(itemRepository).searchAvailableItems("drill", OffsetPageRequest.of(0, 20));
+    }
+
+    @Test
+    void searchItemsShouldReturnCursorWhenPageIsFull() {
+        item.setName("Drill");
+        when(itemRepository.searchAvailableItems("drill", OffsetPageRequest.of(3, 1))).thenReturn(List.of(item));
+
+        CursorPage<ItemDto> result = itemService.searchItems("DRILL", null, 3, 1);
+
+        PageCursor cursor = PageCursor.decode(result.getNextCursor());
+        assertThat(cursor.longKey()).isZero();
+        assertThat(cursor.getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void searchItemsShouldContinueAfterCursor() {
+        String cursor = PageCursor.of(1L, 7L).encode();
+        when(itemRepository.searchAvailableItemsAfter("drill", 1, 7L, OffsetPageRequest.of(0, 20)))
+                .thenReturn(List.of(item));
+
+        CursorPage<ItemDto> result = itemService.searchItems("drill", cursor, 40, 20);
+
+        assertThat(result.getContent()).hasSize(1);
+        verify(itemRepository, never()).searchAvailableItems(any(), any());
+    }
+
+    @Test
+    void searchItemsShouldEscapeLikeWildcardsAndRankByLiteralSubstring() {
+        item.setName("AXB");
+        when(itemRepository.searchAvailableItems("a\\_b\\%", OffsetPageRequest.of(0, 1))).thenReturn(List.of(item));
+
+        CursorPage<ItemDto> result = itemService.searchItems("A_B%", null, 0, 1);
+
+        // "axb" совпадает с a_b только как шаблон LIKE, значит вещь найдена по описанию
+        assertThat(PageCursor.decode(result.getNextCursor()).longKey()).isEqualTo(1L);
+    }
+
+    @Test
+    void searchItemsShouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> itemService.searchItems("drill", "not a cursor", 0, 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Некорректный курсор");
+    }
+
+    @Test
+    void getItemByIdShouldLoadOnlyFirstPageOfComments() {
+        CommentDto comment = new CommentDto(3L, "Отлично", "User", LocalDateTime.now());
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
+        when(itemMapper.toItemDto(item)).thenReturn(ItemDto.builder().id(1L).build());
+        when(commentRepository.findDtosByItemId(1L, OffsetPageRequest.of(0, 10))).thenReturn(List.of(comment));
+
+        ItemDto result = itemService.getItemById(1L, 2L);
+
+        assertThat(result.getComments()).containsExactly(comment);
+        verifyNoInteractions(commentMapper);
+    }
+
+    @Test
+    void getItemsByOwnerShouldReturnCommentSummaryWithoutReadingComments() {
+        LocalDateTime lastCommentAt = LocalDateTime.now().minusHours(1);
+        when(itemRepository.findItemDtosByOwnerId(1L)).thenReturn(List.of(
+                new ItemDto(1L, "Item", "Description", true, null, 2L, lastCommentAt)));
+
+        List<ItemDto> result = itemService.getItemsByOwner(1L);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0)).isEqualTo(itemDto);
-        verify(itemRepository).searchAvailableItems("drill");
+        assertThat(result.get(0).getCommentCount()).isEqualTo(2L);
+        assertThat(result.get(0).getLastCommentAt()).isEqualTo(lastCommentAt);
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void getCommentsShouldReturnCursorWhenPageIsFull() {
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 12, 0);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findDtosByItemId(1L, OffsetPageRequest.of(0, 1)))
+                .thenReturn(List.of(new CommentDto(3L, "Отлично", "User", created)));
+
+        CursorPage<CommentDto> result = itemService.getComments(1L, null, 0, 1);
+
+        PageCursor cursor = PageCursor.decode(result.getNextCursor());
+        assertThat(cursor.dateTimeKey()).isEqualTo(created);
+        assertThat(cursor.getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void getCommentsShouldContinueBeforeCursor() {
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 12, 0);
+        String cursor = PageCursor.of(created, 3L).encode();
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findDtosByItemIdBefore(1L, created, 3L, OffsetPageRequest.of(0, 10)))
+                .thenReturn(List.of());
+
+        CursorPage<CommentDto> result = itemService.getComments(1L, cursor, 20, 10);
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getNextCursor()).isNull();
+        verify(commentRepository, never()).findDtosByItemId(any(), any());
+    }
+
+    @Test
+    void getCommentsShouldThrowNotFoundWhenItemNotExists() {
+        when(itemRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> itemService.getComments(99L, null, 0, 10))
+                .isInstanceOf(ItemNotFoundException.class);
     }
 
     @Test
     void getItemsByOwnerShouldReturnEmptyListWhenUserHasNoItems() {
-        UserDto userDto = new UserDto(1L, "User", "user@yandex.ru");
-        when(userService.getUserById(1L)).thenReturn(userDto);
-        when(itemRepository.findByOwnerIdOrderById(1L)).thenReturn(List.of());
+        when(itemRepository.findItemDtosByOwnerId(1L)).thenReturn(List.of());
 
         List<ItemDto> result = itemService.getItemsByOwner(1L);
 
         assertThat(result).isEmpty();
-        verify(userService).getUserById(1L);
-        verify(itemRepository).findByOwnerIdOrderById(1L);
+        verify(userValidator).requireExists(1L);
+        verify(itemRepository).findItemDtosByOwnerId(1L);
     }
 
     @Test
     void addCommentShouldThrowItemNotFoundExceptionWhenItemNotExists() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.empty());
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> itemService.addComment(1L, 1L, "Comment text"))
                 .isInstanceOf(ItemNotFoundException.class)
@@ -279,8 +414,8 @@ class ItemServiceImplTest {
 
     @Test
     void addCommentShouldThrowUserNotFoundExceptionWhenUserNotExists() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
+        when(userRepository.findCachedById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> itemService.addComment(1L, 1L, "Comment text"))
                 .isInstanceOf(UserNotFoundException.class);
@@ -288,16 +423,18 @@ class ItemServiceImplTest {
 
     @Test
     void addCommentShouldThrowWrongRequestExceptionWhenUserDidNotBookItem() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(bookingRepository.existsByBookerIdAndItemIdAndEndBefore(eq(1L), eq(1L), any(LocalDateTime.class)))
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
+        when(userRepository.findCachedById(1L)).thenReturn(Optional.of(user));
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                eq(1L), eq(1L), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
                 .thenReturn(false);
 
         assertThatThrownBy(() -> itemService.addComment(1L, 1L, "Comment text"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Комментировать может только пользователь, который брал вещь в аренду");
 
-        verify(bookingRepository).existsByBookerIdAndItemIdAndEndBefore(eq(1L), eq(1L), any(LocalDateTime.class));
+        verify(bookingRepository).existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                eq(1L), eq(1L), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
     }
 
     @Test
@@ -323,9 +460,10 @@ class ItemServiceImplTest {
                         .created(LocalDateTime.now())
                         .build();
 
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(targetItem));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(author));
-        when(bookingRepository.existsByBookerIdAndItemIdAndEndBefore(eq(1L), eq(1L), any(LocalDateTime.class)))
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(targetItem));
+        when(userRepository.findCachedById(1L)).thenReturn(Optional.of(author));
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                eq(1L), eq(1L), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
                 .thenReturn(true);
 
         CommentCreateDto dto = new CommentCreateDto();
@@ -351,11 +489,95 @@ class ItemServiceImplTest {
 
         assertThat(result).isEqualTo(commentResponse);
 
-        verify(bookingRepository).existsByBookerIdAndItemIdAndEndBefore(eq(1L), eq(1L), any(LocalDateTime.class));
+        verify(bookingRepository).existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                eq(1L), eq(1L), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
         verify(commentRepository).save(argThat(saved ->
                 saved.getItem().equals(targetItem) &&
                         saved.getAuthor().equals(author) &&
                         saved.getText().equals("Great item!")
         ));
+        verify(itemRepository).addCommentStats(1L, comment.getCreated());
+    }
+
+    @Test
+    void getItemsByIds_shouldKeepRequestOrderAndLoadBookingsOnlyForOwnedItems() {
+        Item foreign = Item.builder()
+                .id(2L)
+                .name("Foreign")
+                .description("Description")
+                .available(true)
+                .ownerId(2L)
+                .build();
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item, foreign));
+        when(itemMapper.toItemDto(item)).thenReturn(ItemDto.builder().id(1L).build());
+        when(itemMapper.toItemDto(foreign)).thenReturn(ItemDto.builder().id(2L).build());
+        when(bookingRepository.findLastBookings(eq(Set.of(1L)), eq(BookingStatus.WAITING), any()))
+                .thenReturn(List.of());
+        when(bookingRepository.findNextBookings(eq(Set.of(1L)), eq(BookingStatus.WAITING), any()))
+                .thenReturn(List.of());
+
+        List<ItemDto> result = itemService.getItemsByIds(List.of(2L, 99L, 1L), 1L);
+
+        assertThat(result).extracting(ItemDto::getId).containsExactly(2L, 1L);
+        verify(bookingRepository).findLastBookings(eq(Set.of(1L)), eq(BookingStatus.WAITING), any());
+    }
+
+    @Test
+    void getItemsByIds_whenNoItemsFound_shouldReturnEmptyList() {
+        when(itemRepository.findAllById(any())).thenReturn(List.of());
+
+        assertThat(itemService.getItemsByIds(List.of(99L), 1L)).isEmpty();
+        verifyNoInteractions(bookingRepository, commentRepository);
+    }
+
+    @Test
+    void createItems_shouldSaveValidRowsInOneCallAndReportMissingRequests() {
+        ItemDto withMissingRequest = ItemDto.builder()
+                .name("Saw")
+                .description("Saw")
+                .available(true)
+                .requestId(42L)
+                .build();
+        Item savedItem = Item.builder().id(10L).name("Item").ownerId(1L).build();
+        when(itemRequestRepository.findAllById(Set.of(42L))).thenReturn(List.of());
+        when(itemMapper.toItem(any(ItemDto.class), eq(1L))).thenAnswer(invocation -> new Item());
+        when(itemRepository.saveAll(anyList())).thenReturn(List.of(savedItem));
+        when(itemMapper.toItemDto(savedItem)).thenReturn(ItemDto.builder().id(10L).build());
+
+        List<BatchResult<ItemDto>> results = itemService.createItems(List.of(withMissingRequest, itemDto), 1L);
+
+        verify(userValidator).requireExists(1L);
+        verify(itemRepository, times(1)).saveAll(anyList());
+        assertThat(results).extracting(BatchResult::getStatus).containsExactly(404, 201);
+        assertThat(results.get(0).getError()).isEqualTo("Запрос с id 42 не найден");
+        assertThat(results.get(1).getResult().getId()).isEqualTo(10L);
+    }
+
+    @Test
+    void createItems_shouldRejectOversizeBatch() {
+        List<ItemDto> itemDtos = Collections.nCopies(ItemServiceImpl.MAX_CREATE_BATCH_SIZE + 1, itemDto);
+
+        assertThatThrownBy(() -> itemService.createItems(itemDtos, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(userValidator, itemRepository);
+    }
+
+    @Test
+    void getAvailability_shouldRejectTooLongWindow() {
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
+        LocalDateTime from = LocalDateTime.now();
+
+        assertThatThrownBy(() -> itemService.getAvailability(1L, from, from.plusDays(400)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(bookingIntervalIndex);
+    }
+
+    @Test
+    void getAvailability_shouldUseThirtyDayWindowByDefault() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
+        when(bookingIntervalIndex.freeSlots(1L, from, from.plusDays(30))).thenReturn(List.of());
+
+        assertThat(itemService.getAvailability(1L, from, null)).isEmpty();
     }
 }
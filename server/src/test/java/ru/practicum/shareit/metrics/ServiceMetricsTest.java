@@ -0,0 +1,57 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ServiceMetricsTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void shouldTimeServiceMethods() {
+        userService.createUser(UserDto.builder().name("Metrics").email("metrics@email.com").build());
+
+        Timer timer = meterRegistry.find(ServiceMetrics.SERVICE_TIMER).tag("method", "createUser").timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+    }
+
+    @Test
+    void shouldTagBookingListsWithState() {
+        UserDto user = userService.createUser(UserDto.builder().name("Booker").email("booker.metrics@email.com").build());
+
+        bookingService.getBookingsByUser(user.getId(), "PAST", OffsetPageRequest.of(0, 10));
+
+        Timer timer = meterRegistry.find(ServiceMetrics.BOOKING_LIST_TIMER)
+                .tags("method", "getBookingsByUser", "state", "PAST")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+
+        DistributionSummary size = meterRegistry.find(ServiceMetrics.BOOKING_LIST_SIZE)
+                .tags("method", "getBookingsByUser", "state", "PAST")
+                .summary();
+        assertNotNull(size);
+        assertTrue(size.count() >= 1);
+    }
+}
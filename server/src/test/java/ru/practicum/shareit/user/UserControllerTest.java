@@ -9,6 +9,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.UserNotFoundException;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -127,6 +129,46 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email").value("john.doe@example.com"));
     }
 
+    @Test
+    void shouldReturnNotModifiedWhenEtagMatches() throws Exception {
+        UserDto userDto = UserDto.builder()
+                .id(1L)
+                .name("John Doe")
+                .email("john.doe@example.com")
+                .build();
+
+        when(userService.getUserById(1L))
+                .thenReturn(userDto);
+
+        String eTag = mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/users/1").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldGetUsersByIds() throws Exception {
+        UserDto first = UserDto.builder().id(2L).name("Jane").email("jane@example.com").build();
+        UserDto second = UserDto.builder().id(1L).name("John Doe").email("john.doe@example.com").build();
+
+        when(userService.getUsersByIds(List.of(2L, 1L)))
+                .thenReturn(List.of(first, second));
+
+        mockMvc.perform(get("/users").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[1].id").value(1));
+
+        verify(userService, never()).getAllUsers();
+    }
+
     @Test
     void shouldReturnNotFoundWhenUserDoesNotExist() throws Exception {
         when(userService.getUserById(999L))
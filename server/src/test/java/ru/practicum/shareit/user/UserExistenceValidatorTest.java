@@ -0,0 +1,46 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.UserNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceValidatorTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserExistenceValidator userValidator;
+
+    @Test
+    void requireExistsShouldPassWhenUserExists() {
+        when(userRepository.existsCachedById(1L)).thenReturn(true);
+
+        assertThatCode(() -> userValidator.requireExists(1L)).doesNotThrowAnyException();
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void requireExistsShouldThrowWhenUserMissing() {
+        when(userRepository.existsCachedById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> userValidator.requireExists(99L))
+                .isInstanceOf(UserNotFoundException.class)
+                .hasMessage("Пользователь с ID=99 не найден");
+    }
+
+    @Test
+    void requireExistsShouldThrowWhenIdIsNull() {
+        assertThatThrownBy(() -> userValidator.requireExists(null))
+                .isInstanceOf(UserNotFoundException.class);
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -5,6 +5,9 @@ import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.exception.DuplicateEmailException;
 
 import java.util.List;
@@ -24,6 +27,12 @@ class UserServiceIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Test
     void shouldCreateAndPersistUser() {
         UserDto userDto = UserDto.builder()
@@ -122,6 +131,30 @@ class UserServiceIntegrationTest {
         assertEquals(user.getEmail(), foundUser.getEmail());
     }
 
+    // Без тестовой транзакции: кэш меняется только после коммита, а тестовая транзакция откатывается
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void shouldEvictCachedUserOnlyAfterCommit() {
+        Long userId = userService.createUser(UserDto.builder()
+                .name("Cached User")
+                .email("cached@example.com")
+                .build()).getId();
+        Cache users = cacheManager.getCache(UserRepository.CACHE);
+
+        userService.getUserById(userId);
+        assertNotNull(users.get(userId));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(userId, UserDto.builder().name("Renamed").build());
+            assertNotNull(users.get(userId));
+        });
+        assertNull(users.get(userId));
+        assertEquals("Renamed", userService.getUserById(userId).getName());
+
+        userService.deleteUser(userId);
+        assertNull(users.get(userId));
+    }
+
     @Test
     void shouldGetAllUsers() {
         User user1 = User.builder()
@@ -146,6 +179,29 @@ class UserServiceIntegrationTest {
         assertTrue(allUsers.stream().anyMatch(u -> u.getEmail().equals("user2@example.com")));
     }
 
+    @Test
+    void shouldGetUsersByIdsInRequestOrder() {
+        User user1 = User.builder()
+                .name("User 1")
+                .email("batch1@example.com")
+                .build();
+        entityManager.persist(user1);
+
+        User user2 = User.builder()
+                .name("User 2")
+                .email("batch2@example.com")
+                .build();
+        entityManager.persist(user2);
+
+        entityManager.flush();
+
+        List<UserDto> users = userService.getUsersByIds(List.of(user2.getId(), 999_999L, user1.getId()));
+
+        assertEquals(2, users.size());
+        assertEquals("batch2@example.com", users.get(0).getEmail());
+        assertEquals("batch1@example.com", users.get(1).getEmail());
+    }
+
     @Test
     void shouldDeleteUser() {
         User user = User.builder()